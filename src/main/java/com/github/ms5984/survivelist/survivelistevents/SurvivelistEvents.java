@@ -28,21 +28,31 @@ import com.github.ms5984.survivelist.survivelistevents.api.ServerEvent;
 import com.github.ms5984.survivelist.survivelistevents.api.exceptions.EventAlreadyRunningException;
 import com.github.ms5984.survivelist.survivelistevents.commands.EventCommand;
 import com.github.ms5984.survivelist.survivelistevents.commands.EventTpCommand;
+import com.github.ms5984.survivelist.survivelistevents.commands.SimpleSubcommandRegistry;
 import com.github.ms5984.survivelist.survivelistevents.model.EventItem;
+import com.github.ms5984.survivelist.survivelistevents.model.EventKit;
 import com.github.ms5984.survivelist.survivelistevents.api.Mode;
 import com.github.ms5984.survivelist.survivelistevents.model.PlayerDataService;
 import com.github.ms5984.survivelist.survivelistevents.model.SurvivelistServerEvent;
+import com.github.ms5984.survivelist.survivelistevents.model.TeleportScheduler;
 import com.github.ms5984.survivelist.survivelistevents.util.DataFile;
 import com.github.ms5984.survivelist.survivelistevents.util.DataService;
+import com.github.ms5984.survivelist.survivelistevents.util.LocationCodec;
+import com.github.ms5984.survivelist.survivelistevents.util.LocationStore;
+import com.github.ms5984.survivelist.survivelistevents.util.MessageTemplate;
+import com.github.ms5984.survivelist.survivelistevents.util.PrefixIndex;
 import com.github.ms5984.survivelist.survivelistevents.util.TextLibrary;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.ComponentLike;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.command.PluginCommand;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.serialization.ConfigurationSerialization;
+import org.bukkit.permissions.Permissible;
 import org.bukkit.permissions.Permission;
 import org.bukkit.permissions.PermissionDefault;
 import org.bukkit.plugin.java.JavaPlugin;
@@ -51,9 +61,10 @@ import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Predicate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
+import java.util.logging.Level;
 
 /**
  * SurvivelistEvents plugin implementation.
@@ -68,15 +79,26 @@ public final class SurvivelistEvents extends JavaPlugin implements EventService
     }
     private static SurvivelistEvents instance;
     private SurvivelistServerEvent event;
-    private final DataService dataService = new DataService();
+    private Optional<ServerEvent> eventOptional = Optional.empty(); // cached view of event
+    private DataService dataService;
+    private PlayerDataService playerDataService;
+    private TeleportScheduler teleportScheduler;
     private DataFile dataFile;
+    private LocationStore locationStore;
     private Location eventLocation;
-    private final Map<String, Location> teamLocations = new ConcurrentHashMap<>(8);
-    private final Map<String, EventItem> eventItems = new ConcurrentHashMap<>();
-    private final Map<String, Mode> modes = new ConcurrentHashMap<>();
+    // immutable snapshots, replaced on write
+    private final Object teamLocationsLock = new Object();
+    private volatile ImmutableMap<String, Location> teamLocations = ImmutableMap.of();
+    private volatile Optional<Map<String, Location>> teamLocationsOptional = Optional.empty();
+    private volatile ImmutableMap<String, EventItem> eventItems = ImmutableMap.of();
+    private volatile ImmutableMap<String, Mode> modes = ImmutableMap.of();
+    private volatile PrefixIndex teamIndex = PrefixIndex.empty();
+    private volatile PrefixIndex modeIndex = PrefixIndex.empty();
     private PluginCommand eventCmd;
     private PluginCommand eventTpCmd;
+    private final SimpleSubcommandRegistry subcommandRegistry = new SimpleSubcommandRegistry();
     private String eventMode;
+    private volatile boolean ready;
 
     @Override
     public void onEnable() {
@@ -84,30 +106,55 @@ public final class SurvivelistEvents extends JavaPlugin implements EventService
         instance = this;
         // saveDefaultConfig as the very first task...
         saveDefaultConfig();
-        Permissions.registerSubDefaults(); // as this calls getConfig internally
-        Permissions.setupManageStarNode();
+        this.eventCmd = instance.getCommand("event");
+        this.eventTpCmd = instance.getCommand("eventtp");
+        // Load the config; this compiles messages and resolves permission nodes
+        reloadConfig();
+        this.dataService = new DataService(
+                getConfig().getInt("data-service.threads", DataService.DEFAULT_THREADS),
+                getConfig().getInt("data-service.queue-capacity", DataService.DEFAULT_QUEUE_CAPACITY),
+                getConfig().getLong("data-service.save-delay", DataService.DEFAULT_SAVE_DELAY));
+        this.playerDataService = new PlayerDataService(this);
+        this.teleportScheduler = new TeleportScheduler(this);
         this.dataFile = new DataFile("event-data.yml");
-        // load single location
-        this.eventLocation = dataFile.getValueNow(fc -> fc.getLocation("location"));
-        // load team locations
-        dataFile.getValueNow(fc -> Optional.ofNullable(fc.getConfigurationSection("teams")).map(section -> section.getKeys(false)))
-                .ifPresent(teams -> {
-                    for (String team : teams) {
-                        final Location teamLocation = dataFile.getValueNow(fc -> fc.getLocation("teams." + team));
-                        if (teamLocation == null) continue;
-                        teamLocations.put(team, teamLocation);
-                    }
-                });
-        if (dataFile.getValue(fc -> fc.getString("status")).thenApply("active"::equals).join()) {
-            this.event = new SurvivelistServerEvent(this);
-        }
-        // load items
+        this.locationStore = new LocationStore("event-locations");
         ConfigurationSerialization.registerClass(EventItem.class);
 //        saveResource("items/salmon.yml", false);
-        loadItems();
-        this.eventMode = loadModesFromConfig();
-        this.eventCmd = instance.getCommand("event");
-        this.eventTpCmd = instance.getCommand("eventtp");
+        // Start every load in parallel; the results are applied together once all have finished
+        final long loadStart = System.nanoTime();
+        final CompletableFuture<Map<String, byte[]>> locationsFuture = (locationStore.getFile().exists()
+                ? CompletableFuture.<Void>completedFuture(null)
+                : migrateYamlLocations()).thenCompose(v -> locationStore.getAll());
+        final CompletableFuture<Boolean> activeFuture = dataFile.getValue(fc -> "active".equals(fc.getString("status")));
+        final CompletableFuture<String> lastModeFuture = dataFile.getValue(fc -> fc.getString("last-mode"));
+        final CompletableFuture<Map<String, EventItem>> itemsFuture = loadItems();
+        CompletableFuture.allOf(locationsFuture, activeFuture, lastModeFuture, itemsFuture).thenRunAsync(() -> {
+            // load single location and team locations; decoded here, once every plugin's worlds have loaded
+            final Map<String, byte[]> storedLocations = locationsFuture.join();
+            this.eventLocation = decodeLocation("location", storedLocations.get("location"));
+            final ImmutableMap.Builder<String, Location> loadedTeams = new ImmutableMap.Builder<>();
+            storedLocations.forEach((key, encoded) -> {
+                if (!key.startsWith("teams.")) return;
+                final Location location = decodeLocation(key, encoded);
+                if (location != null) loadedTeams.put(key.substring("teams.".length()), location);
+            });
+            synchronized (teamLocationsLock) {
+                publishTeamLocations(loadedTeams.build());
+            }
+            // load items
+            this.eventItems = ImmutableMap.copyOf(itemsFuture.join());
+            this.eventMode = loadModesFromConfig(lastModeFuture.join());
+            if (activeFuture.join()) {
+                this.event = new SurvivelistServerEvent(this);
+                this.eventOptional = Optional.of(event);
+            }
+            this.ready = true;
+            getLogger().info("Loaded event data in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - loadStart) + "ms");
+        }, runnable -> Bukkit.getScheduler().runTask(this, runnable)).exceptionally(e -> {
+            getLogger().log(Level.SEVERE, "Unable to load event data", e);
+            Bukkit.getPluginManager().disablePlugin(this);
+            return null;
+        });
         final EventCommand eventCommand = new EventCommand(this);
         final EventTpCommand eventTpCommand = new EventTpCommand(this);
         eventCmd.setExecutor(eventCommand);
@@ -116,17 +163,42 @@ public final class SurvivelistEvents extends JavaPlugin implements EventService
         eventTpCmd.setTabCompleter(eventTpCommand);
     }
 
+    @Override
+    public void reloadConfig() {
+        super.reloadConfig();
+        Messages.compile(getConfig());
+        // Permission nodes are read from the config too
+        Permissions.resolve();
+    }
+
     @Override
     public void onDisable() {
         // Plugin shutdown logic
-        PlayerDataService.clearCache(this);
+        // Send back anyone still waiting on a queued teleport before their data is cleared
+        teleportScheduler.finish();
+        playerDataService.clearCache().join();
+        playerDataService.close();
+        dataFile.close();
+        locationStore.close();
+        // Flush write-behind saves and let pending writes finish, then stop the data threads
+        if (!dataService.shutdown(10, TimeUnit.SECONDS)) {
+            getLogger().warning("Timed out waiting for data files to finish writing");
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
     }
 
     @Override
     public @NotNull ServerEvent startEvent() throws EventAlreadyRunningException {
         if (event != null) throw new EventAlreadyRunningException(event, Messages.EVENT_RUNNING.toString());
+        // Make sure the last event's user data is gone (usually long finished)
+        playerDataService.getPendingCleanup().join();
         this.event = new SurvivelistServerEvent(this);
-        dataFile.update(fc -> fc.set("status", "active")).whenComplete((v, e) -> dataFile.save());
+        this.eventOptional = Optional.of(event);
+        dataFile.updateLater(fc -> fc.set("status", "active"));
         return event;
     }
 
@@ -135,15 +207,21 @@ public final class SurvivelistEvents extends JavaPlugin implements EventService
         if (event != null) {
             event.endEvent(this);
             event = null;
-            dataFile.update(fc -> fc.set("status", null)).whenComplete((v, e) -> dataFile.save());
+            eventOptional = Optional.empty();
+            dataFile.updateLater(fc -> fc.set("status", null));
             return true;
         }
         return false;
     }
 
+    @Override
+    public @NotNull SimpleSubcommandRegistry getSubcommandRegistry() {
+        return subcommandRegistry;
+    }
+
     @Override
     public @NotNull Optional<ServerEvent> getEvent() {
-        return Optional.ofNullable(event);
+        return eventOptional;
     }
 
     @Override
@@ -154,37 +232,52 @@ public final class SurvivelistEvents extends JavaPlugin implements EventService
     @Override
     public void setEventLocation(Location location) {
         eventLocation = (location == null) ? null : location.clone();
-        dataFile.update(fc -> fc.set("location", eventLocation)).whenComplete((n, e) -> dataFile.save());
+        locationStore.setLater("location", eventLocation);
     }
 
     // new features
 
     @Override
     public @NotNull Optional<Map<String, Location>> getTeamLocations() {
-        return Optional.of(teamLocations)
-                .filter(Predicate.not(Map::isEmpty))
-                .map(ImmutableMap::copyOf);
+        return teamLocationsOptional;
     }
 
     @Override
     public void setTeamLocation(@NotNull String team, @Nullable Location teamLocation) throws IllegalArgumentException {
         if (team.contains(".")) throw new IllegalArgumentException("Team names cannot contain periods!");
-        if (teamLocation == null) {
-            synchronized (teamLocations) {
-                teamLocations.remove(team);
-            }
-        } else {
-            final Location copy = teamLocation.clone();
-            synchronized (teamLocations) {
-                this.teamLocations.put(team, copy);
+        final Location copy = teamLocation == null ? null : teamLocation.clone();
+        synchronized (teamLocationsLock) {
+            final Map<String, Location> updated = new LinkedHashMap<>(teamLocations);
+            if (copy == null) {
+                updated.remove(team);
+            } else {
+                updated.put(team, copy);
             }
+            publishTeamLocations(ImmutableMap.copyOf(updated));
         }
-        dataFile.update(fc -> fc.set("teams", teamLocations)).whenComplete((n, e) -> dataFile.save());
+        locationStore.setLater("teams." + team, teamLocation);
+    }
+
+    // callers must hold teamLocationsLock
+    private void publishTeamLocations(ImmutableMap<String, Location> snapshot) {
+        this.teamLocations = snapshot;
+        this.teamLocationsOptional = snapshot.isEmpty() ? Optional.empty() : Optional.of(snapshot);
+        this.teamIndex = PrefixIndex.of(snapshot.keySet());
+    }
+
+    @Override
+    public @NotNull PrefixIndex getTeamIndex() {
+        return teamIndex;
+    }
+
+    @Override
+    public @NotNull PrefixIndex getModeIndex() {
+        return modeIndex;
     }
 
     @Override
     public @NotNull Map<String, Mode> getAllModes() {
-        return ImmutableMap.copyOf(modes);
+        return modes;
     }
 
     @Override
@@ -204,18 +297,57 @@ public final class SurvivelistEvents extends JavaPlugin implements EventService
         //set change after ending
         this.eventMode = eventMode;
         // Store set mode in datafile
-        dataFile.update(fc -> fc.set("last-mode", this.eventMode)).whenComplete((n, e) -> dataFile.save());
+        dataFile.updateLater(fc -> fc.set("last-mode", this.eventMode));
         return ended;
     }
 
     @Override
     public @NotNull Map<String, EventItem> getEventItems() {
-        return ImmutableMap.copyOf(eventItems);
+        return eventItems;
+    }
+
+    /**
+     * Decode a stored location, skipping it if its world is not loaded.
+     * <p>
+     * A skipped location stays in the store untouched.
+     *
+     * @param key key of the location in the store
+     * @param encoded the encoded location or null
+     * @return the location or null if absent or its world is not loaded
+     */
+    private @Nullable Location decodeLocation(String key, byte @Nullable [] encoded) {
+        if (encoded == null) return null;
+        final Location location = LocationCodec.decode(encoded);
+        if (location.getWorld() == null) {
+            getLogger().warning("Skipping saved location '" + key + "': world "
+                    + LocationCodec.getWorldId(encoded) + " is not loaded");
+            return null;
+        }
+        return location;
+    }
+
+    /**
+     * Copy locations saved in event-data.yml by older versions into
+     * the binary location store, removing them from the yaml once the
+     * store has been written.
+     *
+     * @return a future completing once the locations are in the store
+     */
+    private CompletableFuture<Void> migrateYamlLocations() {
+        return dataFile.getValue(LocationStore::findLocations).thenCompose(legacy -> {
+            if (legacy.isEmpty()) return CompletableFuture.completedFuture(null);
+            legacy.forEach(locationStore::set);
+            locationStore.save()
+                    .thenCompose(v -> dataFile.updateLater(fc -> legacy.keySet().forEach(key -> fc.set(key, null))));
+            getLogger().info("Migrated " + legacy.size() + " saved location(s) to " + locationStore.getFile().getName());
+            return CompletableFuture.completedFuture(null);
+        });
     }
 
-    private @NotNull String loadModesFromConfig() {
+    private @NotNull String loadModesFromConfig(@Nullable String lastMode) {
         final ConfigurationSection modesSection = getConfig().getConfigurationSection("modes");
         if (modesSection == null) throw new IllegalStateException("Unable to load valid modes!");
+        final ImmutableMap.Builder<String, Mode> loadedModes = new ImmutableMap.Builder<>();
         for (String modeKey : modesSection.getKeys(false)) {
             final ConfigurationSection mode = modesSection.getConfigurationSection(modeKey);
             if (mode == null) continue;
@@ -240,7 +372,10 @@ public final class SurvivelistEvents extends JavaPlugin implements EventService
                 continue;
             }
             final Set<String> items = ImmutableSet.copyOf(mode.getStringList("items"));
-            this.modes.put(modeKey, new Mode() {
+            final boolean friendlyFire = mode.getBoolean("friendly-fire", true);
+            // items are loaded by now
+            final EventKit kit = EventKit.compile(items, eventItems);
+            loadedModes.put(modeKey, new Mode() {
                 final boolean usesLocation = spawnModes.contains(SpawnMode.LOCATION);
                 final boolean usesTeams = spawnModes.contains(SpawnMode.TEAMS);
 
@@ -258,10 +393,22 @@ public final class SurvivelistEvents extends JavaPlugin implements EventService
                 public @NotNull Set<String> itemsToGivePlayers() {
                     return items;
                 }
+
+                @Override
+                public boolean friendlyFire() {
+                    return friendlyFire;
+                }
+
+                @Override
+                public @NotNull EventKit getKit() {
+                    return kit;
+                }
             });
         }
-        final String lastMode = dataFile.getValueNow(fc -> fc.getString("last-mode"));
-        if (lastMode != null) {
+        final ImmutableMap<String, Mode> modes = loadedModes.build();
+        this.modes = modes;
+        this.modeIndex = PrefixIndex.of(modes.keySet());
+        if (lastMode != null && modes.containsKey(lastMode)) {
             return lastMode;
         }
         final String defaultMode = getConfig().getString("default-mode");
@@ -275,46 +422,58 @@ public final class SurvivelistEvents extends JavaPlugin implements EventService
         return defaultMode;
     }
 
-    private void loadItems() {
+    private CompletableFuture<Map<String, EventItem>> loadItems() {
         final ConfigurationSection modesSection = getConfig().getConfigurationSection("modes");
         if (modesSection == null) {
-            synchronized (eventItems) {
-                eventItems.clear();
-            }
-            return;
+            return CompletableFuture.completedFuture(ImmutableMap.of());
         }
+        final Set<String> itemNames = new LinkedHashSet<>();
         for (String key : modesSection.getKeys(false)) {
             final ConfigurationSection mode = getConfig().getConfigurationSection("modes." + key);
             if (mode == null) continue;
-            for (String item : mode.getStringList("items")) {
-                final File file = new File(getDataFolder(), "items/" + item + ".yml");
-                if (!file.exists()) {
-                    try {
-                        saveResource("items/" + item + ".yml", false);
-                    } catch (IllegalArgumentException ignored) {
-                        continue;
-                    }
-                }
-                final DataFile dataFile = new DataFile("items", item);
-                final ImmutableMap<String, EventItem> valueNow = dataFile.getValueNow(fc -> {
-                    final ImmutableMap.Builder<String, EventItem> builder = new ImmutableMap.Builder<>();
-                    for (String configKey : fc.getKeys(false)) {
-                        final EventItem eventItem = fc.getSerializable(configKey, EventItem.class);
-                        if (eventItem != null) builder.put(configKey, eventItem);
-                    }
-                    return builder.build();
-                });
-                synchronized (eventItems) {
-                    eventItems.putAll(valueNow);
+            itemNames.addAll(mode.getStringList("items"));
+        }
+        final List<CompletableFuture<ImmutableMap<String, EventItem>>> itemFiles = new ArrayList<>(itemNames.size());
+        for (String item : itemNames) {
+            final File file = new File(getDataFolder(), "items/" + item + ".yml");
+            if (!file.exists()) {
+                try {
+                    saveResource("items/" + item + ".yml", false);
+                } catch (IllegalArgumentException ignored) {
+                    continue;
                 }
             }
+            final DataFile dataFile = new DataFile("items", item);
+            itemFiles.add(dataFile.getValue(fc -> {
+                final ImmutableMap.Builder<String, EventItem> builder = new ImmutableMap.Builder<>();
+                for (String configKey : fc.getKeys(false)) {
+                    final EventItem eventItem = fc.getSerializable(configKey, EventItem.class);
+                    if (eventItem != null) builder.put(configKey, eventItem);
+                }
+                return builder.build();
+            }).whenComplete((items, e) -> dataFile.close()));
         }
+        return CompletableFuture.allOf(itemFiles.toArray(new CompletableFuture[0])).thenApply(v -> {
+            final Map<String, EventItem> loaded = new HashMap<>();
+            for (CompletableFuture<ImmutableMap<String, EventItem>> itemFile : itemFiles) {
+                loaded.putAll(itemFile.join());
+            }
+            return loaded;
+        });
     }
 
     public static DataService getDataService() {
         return instance.dataService;
     }
 
+    public static PlayerDataService getPlayerDataService() {
+        return instance.playerDataService;
+    }
+
+    public static TeleportScheduler getTeleportScheduler() {
+        return instance.teleportScheduler;
+    }
+
     public enum Permissions {
         EVENT_COMMAND(() -> Optional.ofNullable(instance.eventCmd).map(PluginCommand::getPermission).orElse(null)),
         EVENTTP_COMMAND(() -> Optional.ofNullable(instance.eventTpCmd).map(PluginCommand::getPermission).orElse(null)),
@@ -326,21 +485,84 @@ public final class SurvivelistEvents extends JavaPlugin implements EventService
         EVENT_SETTEAM(() -> instance.getConfig().getString("subcommand-info.event.setteam.permission")),
         EVENT_SETMODE(() -> instance.getConfig().getString("subcommand-info.event.setmode.permission")),
         ;
+        private static final Permissions[] SUBCOMMANDS = {
+                EVENT_JOIN, EVENT_LEAVE, EVENT_SETHERE, EVENT_START, EVENT_END, EVENT_SETTEAM, EVENT_SETMODE
+        };
         private final Supplier<String> supplier;
+        private final int bit = 1 << ordinal();
+        private volatile String node;
 
         Permissions(Supplier<String> supplier) {
             this.supplier = supplier;
         }
 
+        /**
+         * Resolve and cache every permission node, registering
+         * any subcommand node not yet known to the server.
+         * <p>
+         * Called on enable, after the commands are available, and
+         * whenever the config is reloaded.
+         */
+        private static void resolve() {
+            for (Permissions permission : values()) {
+                permission.node = permission.supplier.get();
+            }
+            registerSubDefaults();
+            setupManageStarNode();
+        }
+
+        /**
+         * Compute the set of subcommand permissions held by a subject
+         * as a bitmask.
+         * <p>
+         * Check individual entries against the result with {@link #in(int)}.
+         *
+         * @param permissible the subject to test
+         * @return a mask of held permissions
+         * @since 1.1.0
+         */
+        public static int mask(@NotNull Permissible permissible) {
+            int mask = 0;
+            for (Permissions permission : SUBCOMMANDS) {
+                if (permission.test(permissible)) mask |= permission.bit;
+            }
+            return mask;
+        }
+
+        /**
+         * Check whether this permission is part of a mask.
+         *
+         * @param mask a mask from {@link #mask(Permissible)}
+         * @return true if this permission is held
+         * @since 1.1.0
+         */
+        public boolean in(int mask) {
+            return (mask & bit) != 0;
+        }
+
+        /**
+         * Test whether a subject has this permission.
+         * <p>
+         * An unset node is never granted.
+         *
+         * @param permissible the subject to test
+         * @return true if the node is set and held
+         * @since 1.1.0
+         */
+        public boolean test(@NotNull Permissible permissible) {
+            final String node = this.node;
+            return node != null && permissible.hasPermission(node);
+        }
+
         private static void registerSubDefaults() {
             final String eventJoinNode = EVENT_JOIN.getNode();
-            if (eventJoinNode != null) {
+            if (eventJoinNode != null && Bukkit.getPluginManager().getPermission(eventJoinNode) == null) {
                 final Permission joinPerm = new Permission(eventJoinNode);
                 joinPerm.setDefault(PermissionDefault.TRUE);
                 Bukkit.getPluginManager().addPermission(joinPerm);
             }
             final String eventLeaveNode = EVENT_LEAVE.getNode();
-            if (eventLeaveNode != null) {
+            if (eventLeaveNode != null && Bukkit.getPluginManager().getPermission(eventLeaveNode) == null) {
                 final Permission leavePerm = new Permission(eventLeaveNode);
                 leavePerm.setDefault(PermissionDefault.TRUE);
                 Bukkit.getPluginManager().addPermission(leavePerm);
@@ -351,31 +573,31 @@ public final class SurvivelistEvents extends JavaPlugin implements EventService
             final Permission manageStar = Bukkit.getPluginManager().getPermission("events.manage.*");
             if (manageStar == null) throw new IllegalStateException();
             final String setHereNode = EVENT_SETHERE.getNode();
-            if (setHereNode != null) {
+            if (setHereNode != null && Bukkit.getPluginManager().getPermission(setHereNode) == null) {
                 final Permission setHerePerm = new Permission(setHereNode);
                 setHerePerm.addParent(manageStar, true);
                 Bukkit.getPluginManager().addPermission(setHerePerm);
             }
             final String startNode = EVENT_START.getNode();
-            if (startNode != null) {
+            if (startNode != null && Bukkit.getPluginManager().getPermission(startNode) == null) {
                 final Permission startPerm = new Permission(startNode);
                 startPerm.addParent(manageStar, true);
                 Bukkit.getPluginManager().addPermission(startPerm);
             }
             final String endNode = EVENT_END.getNode();
-            if (endNode != null) {
+            if (endNode != null && Bukkit.getPluginManager().getPermission(endNode) == null) {
                 final Permission endPerm = new Permission(endNode);
                 endPerm.addParent(manageStar, true);
                 Bukkit.getPluginManager().addPermission(endPerm);
             }
             final String setTeamNode = EVENT_SETTEAM.getNode();
-            if (setTeamNode != null) {
+            if (setTeamNode != null && Bukkit.getPluginManager().getPermission(setTeamNode) == null) {
                 final Permission setTeamPerm = new Permission(setTeamNode);
                 setTeamPerm.addParent(manageStar, true);
                 Bukkit.getPluginManager().addPermission(setTeamPerm);
             }
             final String setModeNode = EVENT_SETMODE.getNode();
-            if (setModeNode != null) {
+            if (setModeNode != null && Bukkit.getPluginManager().getPermission(setModeNode) == null) {
                 final Permission setModePerm = new Permission(setModeNode);
                 setModePerm.addParent(manageStar, true);
                 Bukkit.getPluginManager().addPermission(setModePerm);
@@ -383,11 +605,12 @@ public final class SurvivelistEvents extends JavaPlugin implements EventService
         }
 
         public @Nullable String getNode() {
-            return supplier.get();
+            return node;
         }
     }
 
-    public enum Messages {
+    public enum Messages implements ComponentLike {
+        LOADING("loading"),
         NO_PERMISSION("no-permission"),
         MUST_BE_PLAYER("player"),
         /**
@@ -404,6 +627,14 @@ public final class SurvivelistEvents extends JavaPlugin implements EventService
          * Replacements: 0 = player name
          */
         JOIN_ANNOUNCE_("joining.announce"),
+        /**
+         * Replacements: 0 = player names
+         */
+        JOIN_ANNOUNCE_SOME_("joining.announce-some"),
+        /**
+         * Replacements: 0 = listed player names, 1 = number of others
+         */
+        JOIN_ANNOUNCE_MANY__("joining.announce-many"),
         JOIN_ALREADY_IN("joining.already-in"),
         /**
          * Replacements: 0 = team name
@@ -414,6 +645,14 @@ public final class SurvivelistEvents extends JavaPlugin implements EventService
          * Replacements: 0 = player name
          */
         LEAVE_ANNOUNCE_("leaving.announce"),
+        /**
+         * Replacements: 0 = player names
+         */
+        LEAVE_ANNOUNCE_SOME_("leaving.announce-some"),
+        /**
+         * Replacements: 0 = listed player names, 1 = number of others
+         */
+        LEAVE_ANNOUNCE_MANY__("leaving.announce-many"),
         LEAVE_NOT_IN("leaving.not-in"),
         LEAVE_FORCE_END("leaving.force-end"),
         NO_EVENT("no-event"),
@@ -440,29 +679,88 @@ public final class SurvivelistEvents extends JavaPlugin implements EventService
          * Replacements: 0 = mode
          */
         MODE_SET_("mode.set"),
+        /**
+         * Replacements: 0 = teleports started, 1 = total
+         */
+        TELEPORT_PROGRESS__("teleport.progress"),
+        /**
+         * Replacements: 0 = successful teleports, 1 = total, 2 = seconds taken
+         */
+        TELEPORT_DONE___("teleport.done"),
         ;
 
+        // null until the config is first loaded in onEnable
+        private static volatile String[] raw;
+        private static volatile MessageTemplate[] templates;
+        private static volatile Component[] components;
         private final String node;
 
         Messages(String node) {
             this.node = "messages." + node;
         }
 
+        /**
+         * Read, translate, parse and build every message once, indexed by ordinal.
+         * <p>
+         * Called whenever the config is (re)loaded.
+         *
+         * @param config the plugin config
+         */
+        private static void compile(ConfigurationSection config) {
+            final Messages[] messages = values();
+            final String[] newRaw = new String[messages.length];
+            final MessageTemplate[] newTemplates = new MessageTemplate[messages.length];
+            final Component[] newComponents = new Component[messages.length];
+            for (Messages message : messages) {
+                newRaw[message.ordinal()] = config.getString(message.node);
+                newTemplates[message.ordinal()] = MessageTemplate.compile(TextLibrary.translate(newRaw[message.ordinal()]));
+                newComponents[message.ordinal()] = TextLibrary.LEGACY.deserialize(newTemplates[message.ordinal()].toString());
+            }
+            raw = newRaw;
+            templates = newTemplates;
+            components = newComponents;
+        }
+
+        private static <T> T[] compiled(T[] array) {
+            if (array == null) throw new IllegalStateException("Messages are not loaded until the plugin is enabled");
+            return array;
+        }
+
         public @Nullable String get() {
-            return instance.getConfig().getString(node);
+            return compiled(raw)[ordinal()];
         }
 
         public @NotNull String replace(Object... replacements) {
-            String toString = toString();
-            for (int i = 0; i < replacements.length; i++) {
-                toString = toString.replace("{" + i + "}", String.valueOf(replacements[i]));
-            }
-            return toString;
+            return compiled(templates)[ordinal()].render(replacements);
+        }
+
+        /**
+         * Render this message with replacements as a component.
+         * <p>
+         * Messages without placeholders return the prebuilt component.
+         *
+         * @param replacements replacement values by index
+         * @return the rendered message
+         */
+        public @NotNull Component replaceComponent(Object... replacements) {
+            final MessageTemplate template = compiled(templates)[ordinal()];
+            if (template.getPlaceholderCount() == 0) return compiled(components)[ordinal()];
+            return TextLibrary.LEGACY.deserialize(template.render(replacements));
+        }
+
+        /**
+         * Get this message as a component, built once per config load.
+         *
+         * @return the message component
+         */
+        @Override
+        public @NotNull Component asComponent() {
+            return compiled(components)[ordinal()];
         }
 
         @Override
         public String toString() {
-            return TextLibrary.translate(get());
+            return compiled(templates)[ordinal()].toString();
         }
     }
 }
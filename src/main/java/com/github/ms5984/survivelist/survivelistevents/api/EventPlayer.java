@@ -25,6 +25,7 @@ package com.github.ms5984.survivelist.survivelistevents.api;
 
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Represents a player in an event.
@@ -58,6 +59,17 @@ public abstract class EventPlayer {
         return player;
     }
 
+    /**
+     * Get the team this player has been assigned to.
+     *
+     * @return the team name or null if not assigned
+     * @see ServerEvent#assignTeam(Player)
+     * @since 1.1.0
+     */
+    public @Nullable String getTeam() {
+        return null;
+    }
+
     /**
      * Teleport the player to the event location if set.
      */
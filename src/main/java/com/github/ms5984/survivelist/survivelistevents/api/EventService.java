@@ -25,10 +25,12 @@ package com.github.ms5984.survivelist.survivelistevents.api;
 
 import com.github.ms5984.survivelist.survivelistevents.api.exceptions.EventAlreadyRunningException;
 import com.github.ms5984.survivelist.survivelistevents.model.EventItem;
+import com.github.ms5984.survivelist.survivelistevents.util.PrefixIndex;
 import org.bukkit.Location;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -39,6 +41,32 @@ import java.util.Set;
  * @since 1.0.0
  */
 public interface EventService {
+    /**
+     * Whether the service has finished loading its saved data.
+     * <p>
+     * Until then, other methods may not reflect the saved state.
+     *
+     * @return true once saved data has been loaded
+     * @since 1.1.0
+     */
+    default boolean isReady() {
+        return true;
+    }
+
+    /**
+     * Get the registry of /event subcommands.
+     * <p>
+     * Plugins may register their own subcommands here.
+     *
+     * @return the subcommand registry
+     * @implSpec The default implementation returns an empty registry
+     *           which cannot be modified.
+     * @since 1.1.0
+     */
+    default @NotNull SubcommandRegistry getSubcommandRegistry() {
+        return SubcommandRegistry.empty();
+    }
+
     /**
      * Start the event.
      *
@@ -81,13 +109,26 @@ public interface EventService {
      * Get the team locations of the event if they have been set.
      *
      * @return an optional describing teams and locations
-     * @implSpec The implementation should shield the contained
-     *           Locations from modification; therefore, a deep
-     *           copy should be performed.
+     * @implSpec The implementation should return an immutable
+     *           snapshot which may be shared between callers; the
+     *           contained Locations must not be modified. Use
+     *           {@link #copyTeamLocations()} for a modifiable copy.
      * @since 1.1.0
      */
     @NotNull Optional<Map<String, Location>> getTeamLocations();
 
+    /**
+     * Get a modifiable deep copy of the team locations.
+     *
+     * @return a new map of teams to cloned locations
+     * @since 1.1.0
+     */
+    default @NotNull Map<String, Location> copyTeamLocations() {
+        final Map<String, Location> copy = new HashMap<>();
+        getTeamLocations().ifPresent(map -> map.forEach((team, location) -> copy.put(team, location.clone())));
+        return copy;
+    }
+
     /**
      * Set the team locations of the event.
      * <p>
@@ -111,10 +152,23 @@ public interface EventService {
         return getTeamLocations().map(Map::keySet);
     }
 
+    /**
+     * Get a prefix index of the team names whose locations have been set.
+     *
+     * @return an index of team names
+     * @implSpec The default implementation builds a new index on each
+     *           call; implementations should cache it until the teams
+     *           change.
+     * @since 1.1.0
+     */
+    default @NotNull PrefixIndex getTeamIndex() {
+        return getTeams().map(PrefixIndex::of).orElse(PrefixIndex.empty());
+    }
+
     /**
      * Get all event modes supported by this service.
      *
-     * @return all event modes supported by this service
+     * @return an immutable snapshot of all event modes supported by this service
      * @since 1.1.0
      */
     @NotNull Map<String, Mode> getAllModes();
@@ -127,6 +181,19 @@ public interface EventService {
      */
     @NotNull String getEventMode();
 
+    /**
+     * Get a prefix index of the names of all supported event modes.
+     *
+     * @return an index of mode names
+     * @implSpec The default implementation builds a new index on each
+     *           call; implementations should cache it until the modes
+     *           change.
+     * @since 1.1.0
+     */
+    default @NotNull PrefixIndex getModeIndex() {
+        return PrefixIndex.of(getAllModes().keySet());
+    }
+
     /**
      * Set the current event mode.
      * <p>
@@ -144,7 +211,7 @@ public interface EventService {
     /**
      * Get all loaded EventItems.
      *
-     * @return map of all loaded EventItems
+     * @return immutable snapshot of all loaded EventItems
      * @since 1.1.0
      */
     @NotNull Map<String, EventItem> getEventItems();
@@ -23,6 +23,7 @@
  */
 package com.github.ms5984.survivelist.survivelistevents.api;
 
+import com.github.ms5984.survivelist.survivelistevents.model.EventKit;
 import com.google.common.collect.ImmutableSet;
 import org.jetbrains.annotations.NotNull;
 
@@ -56,4 +57,23 @@ public interface Mode {
     default @NotNull Set<String> itemsToGivePlayers() {
         return ImmutableSet.of();
     }
+
+    /**
+     * Whether players on the same team can damage each other.
+     *
+     * @return true if friendly fire is allowed
+     */
+    default boolean friendlyFire() {
+        return true;
+    }
+
+    /**
+     * The items given to players, resolved when the mode was loaded.
+     *
+     * @return the kit of this mode
+     * @implSpec The default implementation returns an empty kit.
+     */
+    default @NotNull EventKit getKit() {
+        return EventKit.empty();
+    }
 }
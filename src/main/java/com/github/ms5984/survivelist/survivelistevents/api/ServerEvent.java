@@ -23,13 +23,20 @@
  */
 package com.github.ms5984.survivelist.survivelistevents.api;
 
+import com.github.ms5984.survivelist.survivelistevents.SurvivelistEvents;
 import com.github.ms5984.survivelist.survivelistevents.api.exceptions.AlreadyPresentPlayerException;
 import com.github.ms5984.survivelist.survivelistevents.api.exceptions.InventoryNotClearPlayerException;
 import com.github.ms5984.survivelist.survivelistevents.api.exceptions.NotPresentPlayerException;
+import com.github.ms5984.survivelist.survivelistevents.util.TextLibrary;
+import net.kyori.adventure.text.Component;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.Collection;
 import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 /**
@@ -74,6 +81,53 @@ public interface ServerEvent {
      */
     void removePlayer(Player player) throws NotPresentPlayerException;
 
+    /**
+     * Get the team of a player in the event, assigning one if needed.
+     * <p>
+     * New assignments go to the team with the fewest players.
+     * Existing assignments are kept for the rest of the event.
+     *
+     * @param player a player in the event
+     * @return the team name or null if there are no teams or the
+     *         player is not in the event
+     * @implSpec The default implementation does not assign teams and
+     *           always returns null.
+     * @since 1.1.0
+     */
+    default @Nullable String assignTeam(@NotNull Player player) {
+        return null;
+    }
+
+    /**
+     * Announce to the other players that a player joined the event.
+     * <p>
+     * Implementations may combine announcements made in quick
+     * succession into a single summary.
+     *
+     * @param player the player who joined
+     * @implSpec The default implementation immediately sends the join
+     *           message to every other player in the event.
+     * @since 1.1.0
+     */
+    default void announceJoin(@NotNull Player player) {
+        sendMessage(SurvivelistEvents.Messages.JOIN_ANNOUNCE_.replaceComponent(player.getName()), p -> p != player);
+    }
+
+    /**
+     * Announce to the other players that a player left the event.
+     * <p>
+     * Implementations may combine announcements made in quick
+     * succession into a single summary.
+     *
+     * @param player the player who left
+     * @implSpec The default implementation immediately sends the leave
+     *           message to every other player in the event.
+     * @since 1.1.0
+     */
+    default void announceLeave(@NotNull Player player) {
+        sendMessage(SurvivelistEvents.Messages.LEAVE_ANNOUNCE_.replaceComponent(player.getName()), p -> p != player);
+    }
+
     /**
      * Send a message to all players in the event.
      *
@@ -91,6 +145,30 @@ public interface ServerEvent {
      */
     void sendMessage(String message, Predicate<Player> predicate);
 
+    /**
+     * Send a message to all players in the event.
+     *
+     * @param message message to send
+     * @since 1.1.0
+     */
+    default void sendMessage(Component message) {
+        sendMessage(message, p -> true);
+    }
+
+    /**
+     * Send a message to all players that match the provided predicate.
+     * <p>
+     * The default implementation converts the message to legacy text
+     * and delegates to {@link #sendMessage(String, Predicate)}.
+     *
+     * @param message message to send
+     * @param predicate predicate to test
+     * @since 1.1.0
+     */
+    default void sendMessage(Component message, Predicate<Player> predicate) {
+        sendMessage(TextLibrary.LEGACY.serialize(message), predicate);
+    }
+
     /**
      * Get all players in the event.
      *
@@ -98,13 +176,62 @@ public interface ServerEvent {
      */
     @NotNull Set<EventPlayer> getPlayers();
 
+    /**
+     * Get a live, unmodifiable view of the players in the event.
+     * <p>
+     * Iteration is weakly consistent: it never throws
+     * ConcurrentModificationException and may or may not
+     * reflect players added or removed while iterating.
+     *
+     * @return a live view of the players in the event
+     * @implSpec The default implementation returns {@link #getPlayers()}.
+     * @since 1.1.0
+     */
+    default @NotNull Collection<EventPlayer> getPlayersView() {
+        return getPlayers();
+    }
+
+    /**
+     * Perform an action for each player in the event without copying.
+     *
+     * @param action the action to perform
+     * @since 1.1.0
+     */
+    default void forEachPlayer(@NotNull Consumer<? super EventPlayer> action) {
+        getPlayersView().forEach(action);
+    }
+
+    /**
+     * Get the number of players in the event.
+     *
+     * @return the number of players in the event
+     * @since 1.1.0
+     */
+    default int playerCount() {
+        return getPlayersView().size();
+    }
+
+    /**
+     * Check whether a player is in the event.
+     *
+     * @param uid the unique id of the player
+     * @return true if the player is in the event
+     * @since 1.1.0
+     */
+    default boolean isParticipant(@NotNull UUID uid) {
+        for (EventPlayer eventPlayer : getPlayersView()) {
+            if (eventPlayer.getPlayer().getUniqueId().equals(uid)) return true;
+        }
+        return false;
+    }
+
     /**
      * Teleport all players to the start.
      * <p>
      * Does nothing if {@link EventService#getEventLocation()} is not present
      */
     default void teleportAllPlayers() {
-        getPlayers().forEach(EventPlayer::teleportToEvent);
+        forEachPlayer(EventPlayer::teleportToEvent);
     }
 
     /**
@@ -0,0 +1,115 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Matt (ms5984) <https://github.com/ms5984>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.ms5984.survivelist.survivelistevents.api;
+
+import com.google.common.collect.ImmutableList;
+import net.kyori.adventure.text.Component;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Describes a subcommand of /event.
+ * <p>
+ * Shared checks for permission, player and running event are
+ * performed before {@link #execute} is called.
+ *
+ * @since 1.1.0
+ */
+public interface Subcommand {
+    /**
+     * The name of the subcommand; matched ignoring case.
+     *
+     * @return the name of the subcommand
+     */
+    @NotNull String getName();
+
+    /**
+     * A short description shown in the help menu.
+     *
+     * @return the description of the subcommand
+     */
+    @NotNull String getDescription();
+
+    /**
+     * The help menu line for this subcommand.
+     *
+     * @return the help menu line
+     */
+    default @NotNull Component getHelpLine() {
+        return Component.text("/event " + getName() + " - " + getDescription());
+    }
+
+    /**
+     * The permission required to use the subcommand.
+     *
+     * @return a permission node or null if none is required
+     */
+    default @Nullable String getPermission() {
+        return null;
+    }
+
+    /**
+     * Whether the sender must be a player.
+     *
+     * @return true if the subcommand requires a player
+     */
+    default boolean requiresPlayer() {
+        return false;
+    }
+
+    /**
+     * Whether an event must be running.
+     *
+     * @return true if the subcommand requires a running event
+     */
+    default boolean requiresEvent() {
+        return false;
+    }
+
+    /**
+     * Run the subcommand.
+     *
+     * @param sender the sender; a Player if {@link #requiresPlayer()}
+     * @param event the current event; non-null if {@link #requiresEvent()}
+     * @param args all command arguments, including the subcommand name
+     * @return false to show the help menu
+     */
+    boolean execute(@NotNull CommandSender sender, @Nullable ServerEvent event, @NotNull String[] args);
+
+    /**
+     * Complete arguments after the subcommand name.
+     * <p>
+     * Only called for senders that pass the permission check.
+     *
+     * @param sender the sender
+     * @param args all command arguments, including the subcommand name
+     * @return completions for the last argument
+     */
+    default @NotNull List<String> tabComplete(@NotNull CommandSender sender, @NotNull String[] args) {
+        return ImmutableList.of();
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Matt (ms5984) <https://github.com/ms5984>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.ms5984.survivelist.survivelistevents.api;
+
+import com.github.ms5984.survivelist.survivelistevents.util.PrefixIndex;
+import com.google.common.collect.ImmutableList;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Registry of /event subcommands, looked up by name ignoring case.
+ *
+ * @since 1.1.0
+ */
+public interface SubcommandRegistry {
+    /**
+     * Register a subcommand.
+     *
+     * @param subcommand the subcommand to register
+     * @throws IllegalArgumentException if the name is already registered
+     * @throws UnsupportedOperationException if this registry cannot be modified
+     */
+    void register(@NotNull Subcommand subcommand) throws IllegalArgumentException, UnsupportedOperationException;
+
+    /**
+     * Unregister a subcommand by name.
+     *
+     * @param name the name of the subcommand
+     * @return true if a subcommand was removed
+     */
+    boolean unregister(@NotNull String name);
+
+    /**
+     * Get a subcommand by name, ignoring case.
+     *
+     * @param name the name to look up
+     * @return the subcommand or null if none is registered
+     */
+    @Nullable Subcommand get(@NotNull String name);
+
+    /**
+     * Get all registered subcommands in registration order.
+     *
+     * @return an immutable snapshot of the registered subcommands
+     */
+    @NotNull ImmutableList<Subcommand> getAll();
+
+    /**
+     * Get a prefix index of the registered subcommand names.
+     *
+     * @return an index of subcommand names
+     */
+    @NotNull PrefixIndex getNames();
+
+    /**
+     * Get a registry which is always empty and cannot be modified.
+     *
+     * @return an empty registry
+     */
+    static @NotNull SubcommandRegistry empty() {
+        return new SubcommandRegistry() {
+            @Override
+            public void register(@NotNull Subcommand subcommand) {
+                throw new UnsupportedOperationException("This registry cannot be modified");
+            }
+
+            @Override
+            public boolean unregister(@NotNull String name) {
+                return false;
+            }
+
+            @Override
+            public @Nullable Subcommand get(@NotNull String name) {
+                return null;
+            }
+
+            @Override
+            public @NotNull ImmutableList<Subcommand> getAll() {
+                return ImmutableList.of();
+            }
+
+            @Override
+            public @NotNull PrefixIndex getNames() {
+                return PrefixIndex.empty();
+            }
+        };
+    }
+}
@@ -28,17 +28,16 @@ import com.github.ms5984.survivelist.survivelistevents.api.EventPlayer;
 import com.github.ms5984.survivelist.survivelistevents.api.EventService;
 import com.github.ms5984.survivelist.survivelistevents.api.Mode;
 import com.github.ms5984.survivelist.survivelistevents.api.ServerEvent;
+import com.github.ms5984.survivelist.survivelistevents.api.Subcommand;
+import com.github.ms5984.survivelist.survivelistevents.api.SubcommandRegistry;
 import com.github.ms5984.survivelist.survivelistevents.api.exceptions.AlreadyPresentPlayerException;
 import com.github.ms5984.survivelist.survivelistevents.api.exceptions.EventAlreadyRunningException;
 import com.github.ms5984.survivelist.survivelistevents.api.exceptions.InventoryNotClearPlayerException;
 import com.github.ms5984.survivelist.survivelistevents.api.exceptions.NotPresentPlayerException;
-import com.github.ms5984.survivelist.survivelistevents.model.EventItem;
 import com.github.ms5984.survivelist.survivelistevents.util.LocationUtil;
 import com.github.ms5984.survivelist.survivelistevents.util.TextLibrary;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableMap;
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.TextComponent;
 import net.kyori.adventure.text.event.ClickEvent;
 import net.kyori.adventure.text.format.NamedTextColor;
 import org.bukkit.Location;
@@ -51,7 +50,6 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
-import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Handles /event command and its subcommands.
@@ -59,293 +57,255 @@ import java.util.concurrent.ThreadLocalRandom;
  * @since 1.0.0
  */
 public class EventCommand implements TabExecutor {
+    private static final Component HELP_HEADER = Component.text("Commands:");
     private final EventService eventService;
-    private final ImmutableMap<String, String> helpMenu;
-    private final ImmutableList<String> tabCompletions;
-    private final TextComponent forceStartMessage;
+    private final SubcommandRegistry registry;
 
     public EventCommand(SurvivelistEvents plugin) {
         this.eventService = plugin;
-        final ImmutableMap.Builder<String, String> buildHelpMenu = new ImmutableMap.Builder<>();
-        final ImmutableList.Builder<String> buildTabCompletions = new ImmutableList.Builder<>();
+        this.registry = plugin.getSubcommandRegistry();
         final ConfigurationSection eventSection = plugin.getConfig().getConfigurationSection("subcommand-info.event");
         //noinspection ConstantConditions
-        for (String key : eventSection.getKeys(false)) {
-            buildTabCompletions.add(key);
-            buildHelpMenu.put(key, eventSection.getString(key + ".description"));
-        }
-        this.helpMenu = buildHelpMenu.build();
-        this.tabCompletions = buildTabCompletions.build();
-        this.forceStartMessage = Component.text(SurvivelistEvents.Messages.FORCE_START.toString())
-                .append(Component.space())
-                .append(
-                        Component.text("click here")
-                                .clickEvent(ClickEvent.runCommand("/event start force"))
-                                .color(NamedTextColor.DARK_GRAY)
-                );
+        registry.register(new EventSubcommand("join", eventSection.getString("join.description", ""),
+                SurvivelistEvents.Permissions.EVENT_JOIN, true, true, this::join));
+        registry.register(new EventSubcommand("leave", eventSection.getString("leave.description", ""),
+                SurvivelistEvents.Permissions.EVENT_LEAVE, true, true, this::leave));
+        registry.register(new EventSubcommand("sethere", eventSection.getString("sethere.description", ""),
+                SurvivelistEvents.Permissions.EVENT_SETHERE, true, false, this::setHere));
+        registry.register(new EventSubcommand("start", eventSection.getString("start.description", ""),
+                SurvivelistEvents.Permissions.EVENT_START, false, false, this::start, this::completeStart));
+        registry.register(new EventSubcommand("end", eventSection.getString("end.description", ""),
+                SurvivelistEvents.Permissions.EVENT_END, false, false, this::end));
+        registry.register(new EventSubcommand("setteam", eventSection.getString("setteam.description", ""),
+                SurvivelistEvents.Permissions.EVENT_SETTEAM, true, false, this::setTeam, this::completeSetTeam));
+        registry.register(new EventSubcommand("setmode", eventSection.getString("setmode.description", ""),
+                SurvivelistEvents.Permissions.EVENT_SETMODE, false, false, this::setMode, this::completeSetMode));
     }
 
     @Override
     public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, @NotNull String[] args) {
         if (!command.testPermission(sender)) return true;
+        if (!eventService.isReady()) {
+            sender.sendMessage(SurvivelistEvents.Messages.LOADING);
+            return true;
+        }
         if (args.length < 1) {
             showHelpMenu(sender);
             return true;
         }
         // Process subcommands
-        final Optional<Player> playerOptional = Optional.of(sender).filter(Player.class::isInstance).map(Player.class::cast);
-        final Optional<ServerEvent> eventOptional = eventService.getEvent();
-        if (args[0].equalsIgnoreCase("join")) {
-            // Test permission
-            if (!Optional.ofNullable(SurvivelistEvents.Permissions.EVENT_JOIN.getNode()).map(sender::hasPermission).orElse(false)) {
-                sender.sendMessage(SurvivelistEvents.Messages.NO_PERMISSION.toString());
-                return true;
-            }
-            // check for player
-            if (playerOptional.isEmpty()) {
-                // not player, send error
-                sender.sendMessage(SurvivelistEvents.Messages.MUST_BE_PLAYER.toString());
-                return true;
-            }
-            // store if present
-            final Player player = (Player) sender;
-            // If no event is running then message and exit
-            if (eventOptional.isEmpty()) {
-                sender.sendMessage(SurvivelistEvents.Messages.NO_EVENT.toString());
-                return true;
-            }
-            // Get current event
-            final ServerEvent serverEvent = eventOptional.get();
-            // Join event
-            final EventPlayer eventPlayer;
-            try {
-                eventPlayer = serverEvent.addPlayer(player);
-            } catch (AlreadyPresentPlayerException | InventoryNotClearPlayerException e) {
-                // Send message "you are already in the event" or "please empty your inventory"
-                sender.sendMessage(e.getMessage());
-                return true;
-            }
-            final Mode mode = eventService.getAllModes().get(eventService.getEventMode());
-            if (mode == null) throw new IllegalStateException();
-            if (mode.usesEventLocation()) {
-                // Teleport to event location
-                eventPlayer.teleportToEvent();
-            } else if (mode.usesTeamLocations()) {
-                // Teleport to a random team
-                eventService.getTeams()
-                        .map(ArrayList::new)
-                        .map(list -> list.get(ThreadLocalRandom.current().nextInt(list.size())))
-                        .ifPresent(team -> {
-                            eventPlayer.teleportToTeamLocation(team);
-                            player.sendMessage(SurvivelistEvents.Messages.JOIN_TEAM_.replace(team));
-                        });
+        final Subcommand subcommand = registry.get(args[0]);
+        if (subcommand == null) {
+            showHelpMenu(sender);
+            return true;
+        }
+        // Test permission
+        if (!testPermission(subcommand, sender)) {
+            sender.sendMessage(SurvivelistEvents.Messages.NO_PERMISSION);
+            return true;
+        }
+        // check for player
+        if (subcommand.requiresPlayer() && !(sender instanceof Player)) {
+            // not player, send error
+            sender.sendMessage(SurvivelistEvents.Messages.MUST_BE_PLAYER);
+            return true;
+        }
+        // If no event is running then message and exit
+        final ServerEvent serverEvent = eventService.getEvent().orElse(null);
+        if (subcommand.requiresEvent() && serverEvent == null) {
+            sender.sendMessage(SurvivelistEvents.Messages.NO_EVENT);
+            return true;
+        }
+        if (!subcommand.execute(sender, serverEvent, args)) {
+            showHelpMenu(sender);
+        }
+        return true;
+    }
+
+    private boolean join(CommandSender sender, ServerEvent serverEvent, String[] args) {
+        final Player player = (Player) sender;
+        // Join event
+        final EventPlayer eventPlayer;
+        try {
+            eventPlayer = serverEvent.addPlayer(player);
+        } catch (AlreadyPresentPlayerException e) {
+            // Send message "you are already in the event"
+            sender.sendMessage(SurvivelistEvents.Messages.JOIN_ALREADY_IN);
+            return true;
+        } catch (InventoryNotClearPlayerException e) {
+            // Send message "please empty your inventory"
+            sender.sendMessage(SurvivelistEvents.Messages.PLEASE_EMPTY_INVENTORY);
+            return true;
+        }
+        final Mode mode = eventService.getAllModes().get(eventService.getEventMode());
+        if (mode == null) throw new IllegalStateException();
+        if (mode.usesEventLocation()) {
+            // Teleport to event location
+            eventPlayer.teleportToEvent();
+        } else if (mode.usesTeamLocations()) {
+            // Teleport to the team with the fewest players
+            final String team = serverEvent.assignTeam(player);
+            if (team != null) {
+                eventPlayer.teleportToTeamLocation(team);
+                player.sendMessage(SurvivelistEvents.Messages.JOIN_TEAM_.replaceComponent(team));
             }
-            // Give items, if needed
-            if (!mode.itemsToGivePlayers().isEmpty()) {
-                final Map<String, EventItem> eventItems = eventService.getEventItems();
-                for (String item : mode.itemsToGivePlayers()) {
-                    Optional.ofNullable(eventItems.get(item))
-                            .ifPresent(eventItem -> eventItem.giveToPlayer(player));
+        }
+        // Give items, if needed
+        mode.getKit().giveTo(player);
+        player.sendMessage(SurvivelistEvents.Messages.JOIN_MESSAGE_SELF);
+        serverEvent.announceJoin(player);
+        return true;
+    }
+
+    private boolean leave(CommandSender sender, ServerEvent serverEvent, String[] args) {
+        final Player player = (Player) sender;
+        // Leave event
+        try {
+            serverEvent.removePlayer(player);
+        } catch (NotPresentPlayerException e) {
+            // Send message "you are not in the event"
+            sender.sendMessage(SurvivelistEvents.Messages.LEAVE_NOT_IN);
+            return true;
+        }
+        player.sendMessage(SurvivelistEvents.Messages.LEAVE_MESSAGE_SELF);
+        serverEvent.announceLeave(player);
+        return true;
+    }
+
+    private boolean setHere(CommandSender sender, ServerEvent serverEvent, String[] args) {
+        // Set event location
+        final Location location = ((Player) sender).getLocation();
+        eventService.setEventLocation(location);
+        sender.sendMessage(SurvivelistEvents.Messages.LOCATION_SET_.replaceComponent(LocationUtil.prettyPrintLocation(location)));
+        return true;
+    }
+
+    private boolean start(CommandSender sender, ServerEvent serverEvent, String[] args) {
+        // Start event
+        final ServerEvent newEvent;
+        try {
+            newEvent = eventService.startEvent();
+        } catch (EventAlreadyRunningException e) {
+            // Send message "An event is in progress!"
+            sender.sendMessage(TextLibrary.LEGACY
+                    .deserialize(TextLibrary.translate("&c&o") + SurvivelistEvents.Messages.EVENT_RUNNING));
+            if (args.length >= 2 && args[1].equalsIgnoreCase("force")) {
+                // Forcibly end previous event
+                if (!eventService.endEvent()) {
+                    throw new IllegalStateException("Unable to end old event!");
                 }
-            }
-            player.sendMessage(SurvivelistEvents.Messages.JOIN_MESSAGE_SELF.toString());
-            serverEvent.sendMessage(SurvivelistEvents.Messages.JOIN_ANNOUNCE_.replace(player.getName()), p -> p != player);
-        } else if (args[0].equalsIgnoreCase("leave")) {
-            // Test permission
-            if (!Optional.ofNullable(SurvivelistEvents.Permissions.EVENT_LEAVE.getNode()).map(sender::hasPermission).orElse(false)) {
-                sender.sendMessage(SurvivelistEvents.Messages.NO_PERMISSION.toString());
-                return true;
-            }
-            // check for player
-            if (playerOptional.isEmpty()) {
-                // not player, send error
-                sender.sendMessage(SurvivelistEvents.Messages.MUST_BE_PLAYER.toString());
-                return true;
-            }
-            // store if present
-            final Player player = (Player) sender;
-            // If no event is running then message and exit
-            if (eventOptional.isEmpty()) {
-                sender.sendMessage(SurvivelistEvents.Messages.NO_EVENT.toString());
-                return true;
-            }
-            // Get current event
-            final ServerEvent serverEvent = eventOptional.get();
-            // Leave event
-            try {
-                serverEvent.removePlayer(player);
-            } catch (NotPresentPlayerException e) {
-                // Send message "you are not in the event"
-                sender.sendMessage(e.getMessage());
-                return true;
-            }
-            player.sendMessage(SurvivelistEvents.Messages.LEAVE_MESSAGE_SELF.toString());
-            serverEvent.sendMessage(SurvivelistEvents.Messages.LEAVE_ANNOUNCE_.replace(player.getName()), p -> p != player);
-        } else if (args[0].equalsIgnoreCase("sethere")) {
-            // Test permission
-            if (!Optional.ofNullable(SurvivelistEvents.Permissions.EVENT_SETHERE.getNode()).map(sender::hasPermission).orElse(false)) {
-                sender.sendMessage(SurvivelistEvents.Messages.NO_PERMISSION.toString());
-                return true;
-            }
-            // check for player
-            if (playerOptional.isEmpty()) {
-                // not player, send error
-                sender.sendMessage(SurvivelistEvents.Messages.MUST_BE_PLAYER.toString());
-                return true;
-            }
-            // store if present
-            final Player player = (Player) sender;
-            // Set event location
-            final Location location = player.getLocation();
-            eventService.setEventLocation(location);
-            player.sendMessage(SurvivelistEvents.Messages.LOCATION_SET_.replace(LocationUtil.prettyPrintLocation(location)));
-        } else if (args[0].equalsIgnoreCase("start")) {
-            // Test permission
-            if (!Optional.ofNullable(SurvivelistEvents.Permissions.EVENT_START.getNode()).map(sender::hasPermission).orElse(false)) {
-                sender.sendMessage(SurvivelistEvents.Messages.NO_PERMISSION.toString());
-                return true;
-            }
-            // Start event
-            final ServerEvent newEvent;
-            try {
-                newEvent = eventService.startEvent();
-            } catch (EventAlreadyRunningException e) {
-                // Send message "An event is in progress!"
-                sender.sendMessage(TextLibrary.translate("&c&o" + e.getMessage()));
-                if (args.length >= 2 && args[1].equalsIgnoreCase("force")) {
-                    // Forcibly end previous event
-                    if (!eventService.endEvent()) {
-                        throw new IllegalStateException("Unable to end old event!");
-                    }
-                    final ServerEvent serverEvent;
-                    try {
-                        // Start new event
-                        serverEvent = eventService.startEvent();
-                    } catch (EventAlreadyRunningException eventAlreadyRunningException) {
-                        throw new IllegalStateException("Unable to replace old event.", eventAlreadyRunningException);
-                    }
-                    // on success send successful replacement message
-                    sender.sendMessage(SurvivelistEvents.Messages.REPLACED_.replace(serverEvent));
-                } else {
-                    // Send message about force param
-                    playerOptional.ifPresentOrElse(p -> p.sendMessage(forceStartMessage),
-                            () -> sender.sendMessage(SurvivelistEvents.Messages.FORCE_START.toString()));
+                final ServerEvent replacement;
+                try {
+                    // Start new event
+                    replacement = eventService.startEvent();
+                } catch (EventAlreadyRunningException eventAlreadyRunningException) {
+                    throw new IllegalStateException("Unable to replace old event.", eventAlreadyRunningException);
                 }
-                return true;
-            }
-            sender.sendMessage(SurvivelistEvents.Messages.STARTED_.replace(newEvent));
-        } else if (args[0].equalsIgnoreCase("end")) {
-            // Test permission
-            if (!Optional.ofNullable(SurvivelistEvents.Permissions.EVENT_END.getNode()).map(sender::hasPermission).orElse(false)) {
-                sender.sendMessage(SurvivelistEvents.Messages.NO_PERMISSION.toString());
-                return true;
-            }
-            // End event
-            if (eventService.endEvent()) {
-                // ended event successfully
-                sender.sendMessage(SurvivelistEvents.Messages.ENDED.toString());
+                // on success send successful replacement message
+                sender.sendMessage(SurvivelistEvents.Messages.REPLACED_.replaceComponent(replacement));
+            } else if (sender instanceof Player) {
+                // Send message about force param
+                sender.sendMessage(SurvivelistEvents.Messages.FORCE_START.asComponent()
+                        .append(Component.space())
+                        .append(
+                                Component.text("click here")
+                                        .clickEvent(ClickEvent.runCommand("/event start force"))
+                                        .color(NamedTextColor.DARK_GRAY)
+                        ));
             } else {
-                // no event
-                sender.sendMessage(SurvivelistEvents.Messages.NO_EVENT.toString());
-            }
-        } else if (args[0].equalsIgnoreCase("setteam")) {
-            // Test permission
-            if (!Optional.ofNullable(SurvivelistEvents.Permissions.EVENT_SETTEAM.getNode()).map(sender::hasPermission).orElse(false)) {
-                sender.sendMessage(SurvivelistEvents.Messages.NO_PERMISSION.toString());
-                return true;
-            }
-            // check for player
-            if (playerOptional.isEmpty()) {
-                // not player, send error
-                sender.sendMessage(SurvivelistEvents.Messages.MUST_BE_PLAYER.toString());
-                return true;
+                sender.sendMessage(SurvivelistEvents.Messages.FORCE_START);
             }
-            // Check for second arg
-            if (args.length < 2) {
-                showHelpMenu(sender);
-                return true;
-            }
-            // Set team location
-            final Location location = ((Player) sender).getLocation();
-            try {
-                eventService.setTeamLocation(args[1], location);
-            } catch (IllegalArgumentException e) {
-                sender.sendMessage(e.getMessage());
-                return true;
-            }
-            sender.sendMessage(SurvivelistEvents.Messages.TEAM_LOCATION_SET__.replace(args[1], LocationUtil.prettyPrintLocation(location)));
-        } else if (args[0].equalsIgnoreCase("setmode")) {
-            // Test permission
-            if (!Optional.ofNullable(SurvivelistEvents.Permissions.EVENT_SETMODE.getNode()).map(sender::hasPermission).orElse(false)) {
-                sender.sendMessage(SurvivelistEvents.Messages.NO_PERMISSION.toString());
-                return true;
-            }
-            // Check for second arg
-            if (args.length < 2) {
-                showHelpMenu(sender);
-                return true;
-            }
-            // Check validity + set mode
-            if (!eventService.getAllModes().containsKey(args[1])) {
-                // invalid mode
-                sender.sendMessage(SurvivelistEvents.Messages.MODE_INVALID.toString());
-                return true;
-            }
-            if (eventService.setEventMode(args[1])) {
-                // changed mode, current event stopped
-                sender.sendMessage(SurvivelistEvents.Messages.MODE_CHANGE_STOP.toString());
-            }
-            // mode set
-            sender.sendMessage(SurvivelistEvents.Messages.MODE_SET_.replace(args[1]));
+            return true;
+        }
+        sender.sendMessage(SurvivelistEvents.Messages.STARTED_.replaceComponent(newEvent));
+        return true;
+    }
+
+    private boolean end(CommandSender sender, ServerEvent serverEvent, String[] args) {
+        // End event
+        if (eventService.endEvent()) {
+            // ended event successfully
+            sender.sendMessage(SurvivelistEvents.Messages.ENDED);
         } else {
-            showHelpMenu(sender);
+            // no event
+            sender.sendMessage(SurvivelistEvents.Messages.NO_EVENT);
         }
         return true;
     }
 
+    private boolean setTeam(CommandSender sender, ServerEvent serverEvent, String[] args) {
+        // Check for second arg
+        if (args.length < 2) return false;
+        // Set team location
+        final Location location = ((Player) sender).getLocation();
+        try {
+            eventService.setTeamLocation(args[1], location);
+        } catch (IllegalArgumentException e) {
+            sender.sendMessage(Component.text(e.getMessage()));
+            return true;
+        }
+        sender.sendMessage(SurvivelistEvents.Messages.TEAM_LOCATION_SET__.replaceComponent(args[1], LocationUtil.prettyPrintLocation(location)));
+        return true;
+    }
+
+    private boolean setMode(CommandSender sender, ServerEvent serverEvent, String[] args) {
+        // Check for second arg
+        if (args.length < 2) return false;
+        // Check validity + set mode
+        if (!eventService.getAllModes().containsKey(args[1])) {
+            // invalid mode
+            sender.sendMessage(SurvivelistEvents.Messages.MODE_INVALID);
+            return true;
+        }
+        if (eventService.setEventMode(args[1])) {
+            // changed mode, current event stopped
+            sender.sendMessage(SurvivelistEvents.Messages.MODE_CHANGE_STOP);
+        }
+        // mode set
+        sender.sendMessage(SurvivelistEvents.Messages.MODE_SET_.replaceComponent(args[1]));
+        return true;
+    }
+
+    private List<String> completeStart(CommandSender sender, String[] args) {
+        if (args.length == 2 && "force".startsWith(args[1])) {
+            return ImmutableList.of("force");
+        }
+        return ImmutableList.of();
+    }
+
+    private List<String> completeSetTeam(CommandSender sender, String[] args) {
+        if (args.length == 2) {
+            return eventService.getTeamIndex().startingWith(args[1]);
+        }
+        return ImmutableList.of();
+    }
+
+    private List<String> completeSetMode(CommandSender sender, String[] args) {
+        if (args.length == 2) {
+            return eventService.getModeIndex().startingWith(args[1]);
+        }
+        return ImmutableList.of();
+    }
+
     @Override
     public @Nullable List<String> onTabComplete(@NotNull CommandSender sender, @NotNull Command command, @NotNull String alias, @NotNull String[] args) {
-        if (command.testPermissionSilent(sender)) {
+        if (eventService.isReady() && command.testPermissionSilent(sender)) {
             if (args.length == 1) {
-                final ArrayList<String> completions = new ArrayList<>(tabCompletions);
-                if (!Optional.ofNullable(SurvivelistEvents.Permissions.EVENT_SETHERE.getNode()).map(sender::hasPermission).orElse(false)) {
-                    completions.remove("sethere");
-                }
-                if (!Optional.ofNullable(SurvivelistEvents.Permissions.EVENT_START.getNode()).map(sender::hasPermission).orElse(false)) {
-                    completions.remove("start");
-                }
-                if (!Optional.ofNullable(SurvivelistEvents.Permissions.EVENT_END.getNode()).map(sender::hasPermission).orElse(false)) {
-                    completions.remove("end");
-                }
-                if (!Optional.ofNullable(SurvivelistEvents.Permissions.EVENT_SETTEAM.getNode()).map(sender::hasPermission).orElse(false)) {
-                    completions.remove("setteam");
-                }
-                if (!Optional.ofNullable(SurvivelistEvents.Permissions.EVENT_SETMODE.getNode()).map(sender::hasPermission).orElse(false)) {
-                    completions.remove("setmode");
-                }
-                for (String tabCompletion : tabCompletions) {
-                    if (!tabCompletion.startsWith(args[0])) {
-                        completions.remove(tabCompletion);
+                final ImmutableList<String> names = registry.getNames().startingWith(args[0]);
+                if (names.isEmpty()) return names;
+                final int mask = SurvivelistEvents.Permissions.mask(sender);
+                final ArrayList<String> completions = new ArrayList<>(names.size());
+                for (String name : names) {
+                    final Subcommand subcommand = registry.get(name);
+                    if (subcommand != null && testPermission(subcommand, sender, mask)) {
+                        completions.add(name);
                     }
                 }
                 return completions;
-            } else if (args.length == 2) {
-                if (args[0].equalsIgnoreCase("start") && Optional.ofNullable(SurvivelistEvents.Permissions.EVENT_START.getNode()).map(sender::hasPermission).orElse(false)) {
-                    if ("force".startsWith(args[1])) {
-                        return ImmutableList.of("force");
-                    }
-                } else if (args[0].equalsIgnoreCase("setteam") && Optional.ofNullable(SurvivelistEvents.Permissions.EVENT_SETTEAM.getNode()).map(sender::hasPermission).orElse(false)) {
-                    final ArrayList<String> strings = eventService.getTeams().map(ArrayList::new).orElse(null);
-                    if (strings != null) {
-                        strings.removeIf(s -> !s.startsWith(args[1]));
-                        return strings;
-                    }
-                } else if (args[0].equalsIgnoreCase("setmode") && Optional.ofNullable(SurvivelistEvents.Permissions.EVENT_SETMODE.getNode()).map(sender::hasPermission).orElse(false)) {
-                    final ArrayList<String> strings = new ArrayList<>(eventService.getAllModes().keySet());
-                    if (!strings.isEmpty()) {
-                        strings.removeIf(s -> !s.startsWith(args[1]));
-                        return strings;
-                    }
+            } else if (args.length >= 2) {
+                final Subcommand subcommand = registry.get(args[0]);
+                if (subcommand != null && testPermission(subcommand, sender)) {
+                    return subcommand.tabComplete(sender, args);
                 }
             }
         }
@@ -354,21 +314,28 @@ public class EventCommand implements TabExecutor {
 
     private void showHelpMenu(CommandSender sender) {
         // Show help menu
-        sender.sendMessage("Commands:");
-        for (Map.Entry<String, String> entry : helpMenu.entrySet()) {
-            final String key = entry.getKey();
-            if (key.equals("sethere") && !Optional.ofNullable(SurvivelistEvents.Permissions.EVENT_SETHERE.getNode()).map(sender::hasPermission).orElse(false)) {
-                continue;
-            } else if (key.equals("start") && !Optional.ofNullable(SurvivelistEvents.Permissions.EVENT_START.getNode()).map(sender::hasPermission).orElse(false)) {
-                continue;
-            } else if (key.equals("end") && !Optional.ofNullable(SurvivelistEvents.Permissions.EVENT_END.getNode()).map(sender::hasPermission).orElse(false)) {
-                continue;
-            } else if (key.equals("setteam") && !Optional.ofNullable(SurvivelistEvents.Permissions.EVENT_SETTEAM.getNode()).map(sender::hasPermission).orElse(false)) {
-                continue;
-            } else if (key.equals("setmode") && !Optional.ofNullable(SurvivelistEvents.Permissions.EVENT_SETMODE.getNode()).map(sender::hasPermission).orElse(false)) {
-                continue;
+        sender.sendMessage(HELP_HEADER);
+        final int mask = SurvivelistEvents.Permissions.mask(sender);
+        for (Subcommand subcommand : registry.getAll()) {
+            if (testPermission(subcommand, sender, mask)) {
+                sender.sendMessage(subcommand.getHelpLine());
             }
-            sender.sendMessage("/event " + key + " - " + entry.getValue());
         }
     }
+
+    private static boolean testPermission(Subcommand subcommand, CommandSender sender) {
+        if (subcommand instanceof EventSubcommand) {
+            return ((EventSubcommand) subcommand).getPluginPermission().test(sender);
+        }
+        final String node = subcommand.getPermission();
+        return node == null || sender.hasPermission(node);
+    }
+
+    private static boolean testPermission(Subcommand subcommand, CommandSender sender, int mask) {
+        if (subcommand instanceof EventSubcommand) {
+            return ((EventSubcommand) subcommand).getPluginPermission().in(mask);
+        }
+        final String node = subcommand.getPermission();
+        return node == null || sender.hasPermission(node);
+    }
 }
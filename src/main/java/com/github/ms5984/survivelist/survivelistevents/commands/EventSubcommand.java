@@ -0,0 +1,122 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Matt (ms5984) <https://github.com/ms5984>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.ms5984.survivelist.survivelistevents.commands;
+
+import com.github.ms5984.survivelist.survivelistevents.SurvivelistEvents;
+import com.github.ms5984.survivelist.survivelistevents.api.ServerEvent;
+import com.github.ms5984.survivelist.survivelistevents.api.Subcommand;
+import com.google.common.collect.ImmutableList;
+import net.kyori.adventure.text.Component;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * A built-in /event subcommand guarded by one of the plugin's permissions.
+ *
+ * @since 1.1.0
+ */
+final class EventSubcommand implements Subcommand {
+    @FunctionalInterface
+    interface Handler {
+        boolean handle(@NotNull CommandSender sender, @Nullable ServerEvent event, @NotNull String[] args);
+    }
+
+    @FunctionalInterface
+    interface Completer {
+        @NotNull List<String> complete(@NotNull CommandSender sender, @NotNull String[] args);
+    }
+
+    private final String name;
+    private final String description;
+    private final Component helpLine;
+    private final SurvivelistEvents.Permissions permission;
+    private final boolean requiresPlayer;
+    private final boolean requiresEvent;
+    private final Handler handler;
+    private final Completer completer;
+
+    EventSubcommand(String name, String description, SurvivelistEvents.Permissions permission,
+                    boolean requiresPlayer, boolean requiresEvent, Handler handler) {
+        this(name, description, permission, requiresPlayer, requiresEvent, handler, (sender, args) -> ImmutableList.of());
+    }
+
+    EventSubcommand(String name, String description, SurvivelistEvents.Permissions permission,
+                    boolean requiresPlayer, boolean requiresEvent, Handler handler, Completer completer) {
+        this.name = name;
+        this.description = description;
+        this.helpLine = Component.text("/event " + name + " - " + description);
+        this.permission = permission;
+        this.requiresPlayer = requiresPlayer;
+        this.requiresEvent = requiresEvent;
+        this.handler = handler;
+        this.completer = completer;
+    }
+
+    SurvivelistEvents.Permissions getPluginPermission() {
+        return permission;
+    }
+
+    @Override
+    public @NotNull String getName() {
+        return name;
+    }
+
+    @Override
+    public @NotNull String getDescription() {
+        return description;
+    }
+
+    @Override
+    public @NotNull Component getHelpLine() {
+        return helpLine;
+    }
+
+    @Override
+    public @Nullable String getPermission() {
+        return permission.getNode();
+    }
+
+    @Override
+    public boolean requiresPlayer() {
+        return requiresPlayer;
+    }
+
+    @Override
+    public boolean requiresEvent() {
+        return requiresEvent;
+    }
+
+    @Override
+    public boolean execute(@NotNull CommandSender sender, @Nullable ServerEvent event, @NotNull String[] args) {
+        return handler.handle(sender, event, args);
+    }
+
+    @Override
+    public @NotNull List<String> tabComplete(@NotNull CommandSender sender, @NotNull String[] args) {
+        return completer.complete(sender, args);
+    }
+}
@@ -24,10 +24,9 @@
 package com.github.ms5984.survivelist.survivelistevents.commands;
 
 import com.github.ms5984.survivelist.survivelistevents.SurvivelistEvents;
-import com.github.ms5984.survivelist.survivelistevents.api.EventPlayer;
 import com.github.ms5984.survivelist.survivelistevents.api.EventService;
 import com.github.ms5984.survivelist.survivelistevents.api.Mode;
-import com.github.ms5984.survivelist.survivelistevents.model.EventItem;
+import com.github.ms5984.survivelist.survivelistevents.model.EventKit;
 import com.google.common.collect.ImmutableList;
 import org.bukkit.Location;
 import org.bukkit.command.Command;
@@ -38,7 +37,6 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
-import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Handles /eventtp command.
@@ -58,6 +56,10 @@ public class EventTpCommand implements TabExecutor {
         if (!command.testPermission(sender)) {
             return true;
         }
+        if (!eventService.isReady()) {
+            sender.sendMessage(SurvivelistEvents.Messages.LOADING);
+            return true;
+        }
         // Get event
         eventService.getEvent().ifPresentOrElse(event -> {
             final String eventMode = eventService.getEventMode();
@@ -65,60 +67,42 @@ public class EventTpCommand implements TabExecutor {
             if (mode == null) throw new IllegalStateException();
             if (mode.usesEventLocation()) {
                 // Teleport all players to the event
-                sender.sendMessage(SurvivelistEvents.Messages.EVENT_TP.toString());
-                event.teleportAllPlayers();
+                sender.sendMessage(SurvivelistEvents.Messages.EVENT_TP);
+                eventService.getEventLocation().ifPresent(location -> {
+                    final Map<Player, Location> destinations = new HashMap<>(event.playerCount() * 2);
+                    event.forEachPlayer(ep -> destinations.put(ep.getPlayer(), location));
+                    // skip players who leave before their turn comes
+                    SurvivelistEvents.getTeleportScheduler().schedule(destinations, sender, player -> event.isParticipant(player.getUniqueId()), player -> {});
+                });
             } else if (mode.usesTeamLocations()) {
-                // Teleport all players to the event, assigning teams
-                sender.sendMessage(SurvivelistEvents.Messages.EVENT_TP.toString());
-                final Optional<Set<String>> teams = eventService.getTeams();
-                if (teams.isEmpty()) {
+                // Teleport all players to the event, reusing or assigning teams
+                sender.sendMessage(SurvivelistEvents.Messages.EVENT_TP);
+                final Optional<Map<String, Location>> teamLocations = eventService.getTeamLocations();
+                if (teamLocations.isEmpty()) {
                     // Message sender "need to configure teams"
-                    sender.sendMessage(SurvivelistEvents.Messages.NO_TEAMS.toString());
+                    sender.sendMessage(SurvivelistEvents.Messages.NO_TEAMS);
                     return;
                 }
-                final Set<EventPlayer> players = event.getPlayers();
-                final int teamCount = teams.get().size();
-                final List<Set<EventPlayer>> rosters = new ArrayList<>(teamCount);
-                for (int i = 0; i < teamCount; i++) {
-                    rosters.add(new HashSet<>());
-                }
-                // assign players
-                int i = ThreadLocalRandom.current().nextInt(teamCount); // Slightly randomized
-                for (EventPlayer player : players) {
-                    rosters.get(i++).add(player);
-                    if (!(i < teamCount)) {
-                        i = 0;
-                    }
-                }
-                eventService.getTeamLocations().ifPresent(map -> {
-                    final List<String> teamListOrdered = new ArrayList<>(teams.get());
-                    for (Map.Entry<String, Location> entry : map.entrySet()) {
-                        final int indexOf = teamListOrdered.indexOf(entry.getKey());
-                        if (indexOf == -1) throw new IllegalStateException();
-                        final Location value = entry.getValue();
-                        rosters.get(indexOf).forEach(ep -> {
-                            final Player player = ep.getPlayer();
-                            player.teleportAsync(value);
-                            sender.sendMessage(SurvivelistEvents.Messages.ASSIGNED__.replace(player.getName(), entry.getKey()));
-                        });
-                    }
+                final Map<String, Location> map = teamLocations.get();
+                final Map<Player, Location> destinations = new HashMap<>(event.playerCount() * 2);
+                event.forEachPlayer(ep -> {
+                    final Player player = ep.getPlayer();
+                    final String team = event.assignTeam(player);
+                    final Location location = team == null ? null : map.get(team);
+                    if (location == null) return;
+                    destinations.put(player, location);
+                    sender.sendMessage(SurvivelistEvents.Messages.ASSIGNED__.replaceComponent(player.getName(), team));
                 });
+                SurvivelistEvents.getTeleportScheduler().schedule(destinations, sender, player -> event.isParticipant(player.getUniqueId()), player -> {});
             }
             // Give items, if needed
-            if (!mode.itemsToGivePlayers().isEmpty()) {
-                final Map<String, EventItem> eventItems = eventService.getEventItems();
-                for (String item : mode.itemsToGivePlayers()) {
-                    Optional.ofNullable(eventItems.get(item))
-                            .ifPresent(eventItem -> {
-                                for (EventPlayer player : event.getPlayers()) {
-                                    eventItem.giveToPlayer(player.getPlayer());
-                                }
-                            });
-                }
+            final EventKit kit = mode.getKit();
+            if (!kit.isEmpty()) {
+                event.forEachPlayer(player -> kit.giveTo(player.getPlayer()));
             }
         }, () -> {
             // Message sender "no event running"
-            sender.sendMessage(SurvivelistEvents.Messages.NO_EVENT.toString());
+            sender.sendMessage(SurvivelistEvents.Messages.NO_EVENT);
         });
         return true;
     }
@@ -0,0 +1,95 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Matt (ms5984) <https://github.com/ms5984>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.ms5984.survivelist.survivelistevents.commands;
+
+import com.github.ms5984.survivelist.survivelistevents.api.Subcommand;
+import com.github.ms5984.survivelist.survivelistevents.api.SubcommandRegistry;
+import com.github.ms5984.survivelist.survivelistevents.util.PrefixIndex;
+import com.google.common.collect.ImmutableList;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Plugin implementation of SubcommandRegistry.
+ * <p>
+ * Intended to be modified on the main thread only.
+ *
+ * @since 1.1.0
+ */
+public final class SimpleSubcommandRegistry implements SubcommandRegistry {
+    private final Map<String, Subcommand> byName = new HashMap<>();
+    private volatile ImmutableList<Subcommand> subcommands = ImmutableList.of();
+    private volatile PrefixIndex names = PrefixIndex.empty();
+
+    @Override
+    public void register(@NotNull Subcommand subcommand) throws IllegalArgumentException {
+        final String key = subcommand.getName().toLowerCase(Locale.ROOT);
+        if (byName.putIfAbsent(key, subcommand) != null) {
+            throw new IllegalArgumentException("Subcommand '" + key + "' is already registered");
+        }
+        this.subcommands = ImmutableList.<Subcommand>builder().addAll(subcommands).add(subcommand).build();
+        rebuildNames();
+    }
+
+    @Override
+    public boolean unregister(@NotNull String name) {
+        final Subcommand removed = byName.remove(name.toLowerCase(Locale.ROOT));
+        if (removed == null) return false;
+        final ImmutableList.Builder<Subcommand> builder = ImmutableList.builder();
+        for (Subcommand subcommand : subcommands) {
+            if (subcommand != removed) builder.add(subcommand);
+        }
+        this.subcommands = builder.build();
+        rebuildNames();
+        return true;
+    }
+
+    private void rebuildNames() {
+        final ImmutableList.Builder<String> builder = ImmutableList.builder();
+        for (Subcommand subcommand : subcommands) {
+            builder.add(subcommand.getName());
+        }
+        this.names = PrefixIndex.of(builder.build());
+    }
+
+    @Override
+    public @Nullable Subcommand get(@NotNull String name) {
+        // toLowerCase returns the same instance for names already in lower case
+        return byName.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    @Override
+    public @NotNull ImmutableList<Subcommand> getAll() {
+        return subcommands;
+    }
+
+    @Override
+    public @NotNull PrefixIndex getNames() {
+        return names;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Matt (ms5984) <https://github.com/ms5984>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.ms5984.survivelist.survivelistevents.model;
+
+import com.github.ms5984.survivelist.survivelistevents.SurvivelistEvents;
+import com.github.ms5984.survivelist.survivelistevents.api.ServerEvent;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Collects join and leave announcements over a short window and
+ * sends one summary per window instead of one message per player.
+ * A player who joins and leaves within one window is not announced.
+ * <p>
+ * Main thread only.
+ *
+ * @since 1.1.0
+ */
+final class Announcements {
+    private final JavaPlugin plugin;
+    private final ServerEvent event;
+    private final long window;
+    private final int listedNames;
+    private final List<Player> joined = new ArrayList<>();
+    private final List<Player> left = new ArrayList<>();
+    private BukkitTask flushTask;
+
+    Announcements(JavaPlugin plugin, ServerEvent event) {
+        this.plugin = plugin;
+        this.event = event;
+        this.window = Math.max(0L, plugin.getConfig().getLong("announcements.window", 20L));
+        this.listedNames = Math.max(1, plugin.getConfig().getInt("announcements.names", 3));
+    }
+
+    void join(Player player) {
+        // leaving and rejoining within one window cancels out
+        if (!left.remove(player)) add(joined, player);
+    }
+
+    void leave(Player player) {
+        // as does joining and leaving
+        if (!joined.remove(player)) add(left, player);
+    }
+
+    private void add(List<Player> pending, Player player) {
+        pending.add(player);
+        if (window == 0L) {
+            flush();
+        } else if (flushTask == null) {
+            flushTask = Bukkit.getScheduler().runTaskLater(plugin, this::flush, window);
+        }
+    }
+
+    /**
+     * Send summaries for everything collected so far.
+     */
+    void flush() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+        announce(joined, SurvivelistEvents.Messages.JOIN_ANNOUNCE_,
+                SurvivelistEvents.Messages.JOIN_ANNOUNCE_SOME_, SurvivelistEvents.Messages.JOIN_ANNOUNCE_MANY__);
+        announce(left, SurvivelistEvents.Messages.LEAVE_ANNOUNCE_,
+                SurvivelistEvents.Messages.LEAVE_ANNOUNCE_SOME_, SurvivelistEvents.Messages.LEAVE_ANNOUNCE_MANY__);
+    }
+
+    private void announce(List<Player> players, SurvivelistEvents.Messages one,
+                          SurvivelistEvents.Messages some, SurvivelistEvents.Messages many) {
+        final int count = players.size();
+        if (count == 0) return;
+        if (count == 1) {
+            final Player player = players.get(0);
+            event.sendMessage(one.replaceComponent(player.getName()), p -> p != player);
+        } else {
+            final StringBuilder names = new StringBuilder();
+            final int listed = Math.min(count, listedNames);
+            for (int i = 0; i < listed; i++) {
+                if (i > 0) names.append(", ");
+                names.append(players.get(i).getName());
+            }
+            final Set<Player> excluded = new HashSet<>(players);
+            if (listed == count) {
+                event.sendMessage(some.replaceComponent(names), p -> !excluded.contains(p));
+            } else {
+                event.sendMessage(many.replaceComponent(names, count - listed), p -> !excluded.contains(p));
+            }
+        }
+        players.clear();
+    }
+}
@@ -32,9 +32,13 @@ import org.bukkit.configuration.serialization.ConfigurationSerializable;
 import org.bukkit.configuration.serialization.SerializableAs;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Map;
 import java.util.Objects;
@@ -47,6 +51,7 @@ import java.util.Optional;
  */
 @SerializableAs("EventItem")
 public class EventItem implements ConfigurationSerializable {
+    private static final NamespacedKey MARKER = new NamespacedKey(JavaPlugin.getProvidingPlugin(EventItem.class), "event-item");
     private final ItemStack item;
 
     /**
@@ -55,7 +60,7 @@ public class EventItem implements ConfigurationSerializable {
      * @param itemStack an existing ItemStack to copy
      */
     public EventItem(@NotNull ItemStack itemStack) {
-        this.item = new ItemStack(itemStack);
+        this.item = mark(new ItemStack(itemStack));
     }
     private EventItem(@NotNull Map<String, Object> serialized) throws IllegalArgumentException {
         final String type;
@@ -88,7 +93,31 @@ public class EventItem implements ConfigurationSerializable {
             }));
             itemStack.setItemMeta(meta);
         }
-        this.item = itemStack;
+        this.item = mark(itemStack);
+    }
+
+    private static ItemStack mark(ItemStack itemStack) {
+        final ItemMeta meta = itemStack.getItemMeta();
+        if (meta != null) {
+            meta.getPersistentDataContainer().set(MARKER, PersistentDataType.BYTE, (byte) 1);
+            itemStack.setItemMeta(meta);
+        }
+        return itemStack;
+    }
+
+    /**
+     * Check whether a stack was created from any EventItem.
+     * <p>
+     * Only the marker stamped on event items is checked, so stacks
+     * whose amount has changed still match.
+     *
+     * @param itemStack a stack to test
+     * @return true if the stack carries the event item marker
+     * @since 1.1.0
+     */
+    public static boolean isEventItem(@Nullable ItemStack itemStack) {
+        return itemStack != null && itemStack.hasItemMeta()
+                && itemStack.getItemMeta().getPersistentDataContainer().has(MARKER, PersistentDataType.BYTE);
     }
 
     /**
@@ -119,21 +148,43 @@ public class EventItem implements ConfigurationSerializable {
     }
 
     /**
-     * Take this item from a player.
+     * Take event items from a player.
      * <p>
-     * Delegates to {@link org.bukkit.inventory.Inventory#remove(ItemStack)},
-     * so every exact stack match is removed.
+     * Stacks are matched by the event item marker alone, so this
+     * removes every event item, not only this one.
      *
      * @param player a player
-     * @return false if player did not have this item; true if remove attempted
+     * @return false if player had no event items; true if removed
+     * @see #takeAllFromPlayer(Player)
      */
     @SuppressWarnings("UnusedReturnValue")
     public boolean takeFromPlayer(@NotNull Player player) {
-        if (!playerHasExact(player)) {
-            return false;
+        return takeAllFromPlayer(player);
+    }
+
+    /**
+     * Remove every event item from a player.
+     * <p>
+     * Scans the inventory slots once and removes each stack carrying
+     * the event item marker, whatever its current amount.
+     *
+     * @param player a player
+     * @return false if player had no event items; true if removed
+     * @since 1.1.0
+     */
+    @SuppressWarnings("UnusedReturnValue")
+    public static boolean takeAllFromPlayer(@NotNull Player player) {
+        final Inventory inventory = player.getInventory();
+        final ItemStack[] contents = inventory.getStorageContents();
+        boolean removed = false;
+        for (int slot = 0; slot < contents.length; slot++) {
+            final ItemStack stack = contents[slot];
+            if (isEventItem(stack)) {
+                inventory.setItem(slot, null);
+                removed = true;
+            }
         }
-        player.getInventory().remove(item);
-        return true;
+        return removed;
     }
 
     /**
@@ -0,0 +1,125 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Matt (ms5984) <https://github.com/ms5984>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.ms5984.survivelist.survivelistevents.model;
+
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable set of items given to players by a mode.
+ * <p>
+ * Item names are resolved once when the mode is loaded, so giving
+ * or taking the kit needs no lookups.
+ *
+ * @since 1.1.0
+ */
+public final class EventKit {
+    private static final EventKit EMPTY = new EventKit(new ItemStack[0]);
+    private final ItemStack[] items;
+
+    private EventKit(ItemStack[] items) {
+        this.items = items;
+    }
+
+    /**
+     * Resolve item names into a kit; unknown names are skipped.
+     *
+     * @param itemNames the names of the items
+     * @param eventItems all loaded items by name
+     * @return a new kit
+     */
+    public static @NotNull EventKit compile(@NotNull Collection<String> itemNames, @NotNull Map<String, EventItem> eventItems) {
+        final List<ItemStack> resolved = new ArrayList<>(itemNames.size());
+        for (String itemName : itemNames) {
+            final EventItem eventItem = eventItems.get(itemName);
+            if (eventItem != null) resolved.add(eventItem.getItemCopy());
+        }
+        return resolved.isEmpty() ? EMPTY : new EventKit(resolved.toArray(new ItemStack[0]));
+    }
+
+    /**
+     * Get a kit without items.
+     *
+     * @return an empty kit
+     */
+    public static @NotNull EventKit empty() {
+        return EMPTY;
+    }
+
+    public boolean isEmpty() {
+        return items.length == 0;
+    }
+
+    /**
+     * Give the player every kit item they do not already hold.
+     * <p>
+     * Scans the inventory once and adds all missing items in
+     * a single call.
+     *
+     * @param player a player
+     */
+    public void giveTo(@NotNull Player player) {
+        if (items.length == 0) return;
+        final PlayerInventory inventory = player.getInventory();
+        final boolean[] held = new boolean[items.length];
+        int missing = items.length;
+        for (ItemStack stack : inventory.getStorageContents()) {
+            if (stack == null) continue;
+            for (int i = 0; i < items.length; i++) {
+                if (!held[i] && items[i].equals(stack)) {
+                    held[i] = true;
+                    if (--missing == 0) return;
+                }
+            }
+        }
+        final ItemStack[] toAdd = new ItemStack[missing];
+        int next = 0;
+        for (int i = 0; i < items.length; i++) {
+            // addItem may change the amount of what it is given
+            if (!held[i]) toAdd[next++] = new ItemStack(items[i]);
+        }
+        inventory.addItem(toAdd);
+    }
+
+    /**
+     * Remove every event item from the player.
+     * <p>
+     * Players join with an empty inventory, so any stack carrying
+     * the event item marker is removed, whatever its amount and
+     * whichever kit it came from; even an empty kit takes them.
+     *
+     * @param player a player
+     * @see EventItem#takeAllFromPlayer(Player)
+     */
+    public void takeFrom(@NotNull Player player) {
+        EventItem.takeAllFromPlayer(player);
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Matt (ms5984) <https://github.com/ms5984>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.ms5984.survivelist.survivelistevents.model;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Compact open-addressing map from participant UUID to team ordinal.
+ * <p>
+ * Keys are stored as two primitive longs and looked up by linear
+ * probing, so membership and team checks read only primitive arrays.
+ * Removal shifts later entries back rather than leaving tombstones.
+ * <p>
+ * Main thread only.
+ *
+ * @since 1.1.0
+ */
+final class ParticipantIndex {
+    /**
+     * Returned by {@link #teamOf(UUID)} for players not in the index.
+     */
+    static final int ABSENT = -2;
+    /**
+     * Team ordinal of participants without a team.
+     */
+    static final int NO_TEAM = -1;
+    private long[] most;
+    private long[] least;
+    private int[] teams;
+    private boolean[] used;
+    private int mask;
+    private int size;
+
+    ParticipantIndex() {
+        allocate(16);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Get the team ordinal of a player.
+     *
+     * @param uid the player's unique id
+     * @return the team ordinal, {@link #NO_TEAM} or {@link #ABSENT}
+     */
+    int teamOf(UUID uid) {
+        final int slot = find(uid.getMostSignificantBits(), uid.getLeastSignificantBits());
+        return slot < 0 ? ABSENT : teams[slot];
+    }
+
+    /**
+     * Whether both players are participants on the same team.
+     *
+     * @param first a player's unique id
+     * @param second another player's unique id
+     * @return true if both have the same team
+     */
+    boolean sameTeam(UUID first, UUID second) {
+        final int team = teamOf(first);
+        return team >= 0 && team == teamOf(second);
+    }
+
+    /**
+     * Add or update a participant.
+     *
+     * @param uid the player's unique id
+     * @param team a team ordinal or {@link #NO_TEAM}
+     */
+    void put(UUID uid, int team) {
+        final long msb = uid.getMostSignificantBits();
+        final long lsb = uid.getLeastSignificantBits();
+        int slot = slot(msb, lsb);
+        while (used[slot]) {
+            if (most[slot] == msb && least[slot] == lsb) {
+                teams[slot] = team;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        used[slot] = true;
+        most[slot] = msb;
+        least[slot] = lsb;
+        teams[slot] = team;
+        // keep the load factor at or below one half
+        if (++size * 2 > used.length) rehash(used.length * 2);
+    }
+
+    void remove(UUID uid) {
+        int slot = find(uid.getMostSignificantBits(), uid.getLeastSignificantBits());
+        if (slot < 0) return;
+        size--;
+        // shift back following entries whose probe sequence passes this slot
+        int next = (slot + 1) & mask;
+        while (used[next]) {
+            final int home = slot(most[next], least[next]);
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                most[slot] = most[next];
+                least[slot] = least[next];
+                teams[slot] = teams[next];
+                slot = next;
+            }
+            next = (next + 1) & mask;
+        }
+        used[slot] = false;
+    }
+
+    /**
+     * Replace the team ordinal of every participant.
+     *
+     * @param remap function from old to new ordinal
+     */
+    void remapTeams(IntUnaryOperator remap) {
+        for (int i = 0; i < used.length; i++) {
+            if (used[i]) teams[i] = remap.applyAsInt(teams[i]);
+        }
+    }
+
+    void clear() {
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+    private int find(long msb, long lsb) {
+        int slot = slot(msb, lsb);
+        while (used[slot]) {
+            if (most[slot] == msb && least[slot] == lsb) return slot;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int slot(long msb, long lsb) {
+        return hash(msb, lsb) & mask;
+    }
+
+    static int hash(long msb, long lsb) {
+        final long h = (msb ^ lsb) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private void allocate(int capacity) {
+        most = new long[capacity];
+        least = new long[capacity];
+        teams = new int[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+    }
+
+    private void rehash(int capacity) {
+        final long[] oldMost = most;
+        final long[] oldLeast = least;
+        final int[] oldTeams = teams;
+        final boolean[] oldUsed = used;
+        allocate(capacity);
+        for (int i = 0; i < oldUsed.length; i++) {
+            if (!oldUsed[i]) continue;
+            int slot = slot(oldMost[i], oldLeast[i]);
+            while (used[slot]) slot = (slot + 1) & mask;
+            used[slot] = true;
+            most[slot] = oldMost[i];
+            least[slot] = oldLeast[i];
+            teams[slot] = oldTeams[i];
+        }
+    }
+}
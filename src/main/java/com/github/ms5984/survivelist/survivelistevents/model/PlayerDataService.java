@@ -1,46 +1,119 @@
 package com.github.ms5984.survivelist.survivelistevents.model;
 
-import com.github.ms5984.survivelist.survivelistevents.util.DataFile;
+import com.github.ms5984.survivelist.survivelistevents.util.LocationCodec;
+import com.github.ms5984.survivelist.survivelistevents.util.LocationJournal;
+import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manage player data which must persist across server connects.
+ * <p>
+ * Original locations are held in memory, which is authoritative while
+ * the server runs; a single append-only {@link LocationJournal} backs
+ * them on disk for crash recovery only. Locations recovered from the
+ * journal are returned to their players when they next join.
  *
  * @since 1.0.0
  */
 public class PlayerDataService {
-    private final Map<UUID, DataFile> resolvedData = new ConcurrentHashMap<>();
+    private static final int CLEANUP_BATCH_SIZE = 64;
+    private final JavaPlugin javaPlugin;
+    private final Map<UUID, Location> originalLocations = new ConcurrentHashMap<>();
+    // left behind by a crash; kept encoded until the player is back, as their world may load late
+    private final Map<UUID, byte[]> recoveredLocations = new ConcurrentHashMap<>();
+    private final LocationJournal journal;
+    private volatile CompletableFuture<Void> pendingCleanup = CompletableFuture.completedFuture(null);
 
-    private DataFile resolvePlayer(Player player) {
-        return resolvedData.computeIfAbsent(player.getUniqueId(), uid -> new DataFile("users", uid.toString() + ".yml"));
+    public PlayerDataService(JavaPlugin javaPlugin) {
+        this.javaPlugin = javaPlugin;
+        this.journal = new LocationJournal("users", "original-locations");
+        // Recover locations left behind by a crash; never replace newer ones
+        journal.getAll().thenAccept(recovered -> {
+            recovered.forEach((uid, encoded) -> {
+                if (!originalLocations.containsKey(uid)) recoveredLocations.put(uid, encoded);
+            });
+            // players may already be online after a reload
+            if (!recovered.isEmpty()) {
+                Bukkit.getScheduler().runTask(javaPlugin, () -> Bukkit.getOnlinePlayers().forEach(this::returnRecovered));
+            }
+        });
+        Bukkit.getPluginManager().registerEvents(new Listener() {
+            @EventHandler
+            public void onPlayerJoinEvent(PlayerJoinEvent e) {
+                returnRecovered(e.getPlayer());
+            }
+        }, javaPlugin);
     }
 
     /**
      * Get the original location of the player when they joined the event.
      *
      * @param player the player
-     * @return the location where the player joined
+     * @return the location where the player joined or null if not known
      */
     Location getOriginalLocation(Player player) {
-        return resolvePlayer(player).getValueNow(fc -> fc.getLocation("original-location"));
+        final Location location = originalLocations.get(player.getUniqueId());
+        if (location != null) return location;
+        final byte[] recovered = recoveredLocations.get(player.getUniqueId());
+        return recovered == null ? null : resolve(recovered);
     }
 
     /**
      * Set the location of the player before they joined the event.
+     * <p>
+     * An existing entry, such as one recovered after a crash, is
+     * kept, as it is older than the player's current location.
      *
      * @param player the player
      */
     void setOriginalLocation(Player player) {
-        final DataFile dataFile = resolvePlayer(player);
-        final Location location = player.getLocation().clone();
-        dataFile.update(fc -> fc.set("original-location", location)).whenComplete((n, e) -> dataFile.save());
+        final UUID uid = player.getUniqueId();
+        if (recoveredLocations.containsKey(uid)) return;
+        final Location location = player.getLocation();
+        if (originalLocations.putIfAbsent(uid, location) == null) {
+            journal.put(uid, location);
+        }
+    }
+
+    /**
+     * Send a player back to a location recovered after a crash.
+     * <p>
+     * The entry is kept if its world is not loaded or the teleport
+     * fails, so it is tried again on their next join.
+     *
+     * @param player the player
+     */
+    private void returnRecovered(Player player) {
+        final UUID uid = player.getUniqueId();
+        final byte[] encoded = recoveredLocations.get(uid);
+        if (encoded == null) return;
+        final Location location = resolve(encoded);
+        if (location == null) {
+            javaPlugin.getLogger().warning("Unable to return " + player.getName() + ": world "
+                    + LocationCodec.getWorldId(encoded) + " is not loaded");
+            return;
+        }
+        player.teleportAsync(location).thenAccept(success -> {
+            if (success && recoveredLocations.remove(uid, encoded)) journal.remove(uid);
+        });
+    }
+
+    private static Location resolve(byte[] encoded) {
+        final Location location = LocationCodec.decode(encoded);
+        return location.getWorld() == null ? null : location;
     }
 
     /**
@@ -49,22 +122,91 @@ public class PlayerDataService {
      * @param player the player
      */
     void clearData(Player player) {
-        resolvePlayer(player).delete();
+        clearData(player.getUniqueId());
+    }
+
+    /**
+     * Clear data for the player with the provided UUID.
+     *
+     * @param uid UUID of the player
+     */
+    void clearData(UUID uid) {
+        final boolean live = originalLocations.remove(uid) != null;
+        if (recoveredLocations.remove(uid) != null || live) {
+            journal.remove(uid);
+        }
     }
 
     /**
      * Wipe the entire users data folder.
      * <p>
+     * In-memory data is cleared immediately. The journal is truncated
+     * after any writes still pending on it, then leftover files are
+     * deleted in batches, all off the calling thread. Locations
+     * recovered after a crash whose players have not yet returned
+     * are kept.
+     * <p>
      * Always called onDisable.
+     *
+     * @return a future completing once the folder has been cleaned
+     */
+    public CompletableFuture<Void> clearCache() {
+        final List<UUID> live = new ArrayList<>(originalLocations.keySet());
+        originalLocations.clear();
+        final CompletableFuture<Void> cleared;
+        if (recoveredLocations.isEmpty()) {
+            cleared = journal.clear();
+        } else {
+            cleared = CompletableFuture.allOf(live.stream().map(journal::remove).toArray(CompletableFuture[]::new));
+        }
+        final CompletableFuture<Void> cleanup = cleared
+                .thenCompose(v -> deleteLeftoverFiles())
+                .exceptionally(e -> {
+                    javaPlugin.getLogger().warning("Unable to clear user data: " + e.getMessage());
+                    return null;
+                });
+        this.pendingCleanup = cleanup;
+        return cleanup;
+    }
+
+    /**
+     * Get the most recent {@link #clearCache()} operation.
+     *
+     * @return a future completing once the last cleanup has finished
      */
-    public static void clearCache(JavaPlugin javaPlugin) {
+    public CompletableFuture<Void> getPendingCleanup() {
+        return pendingCleanup;
+    }
+
+    /**
+     * Close this service, releasing the journal's file handle.
+     * <p>
+     * The journal file itself is kept for crash recovery.
+     *
+     * @return a future completing once the journal has been closed
+     */
+    public CompletableFuture<Void> close() {
+        originalLocations.clear();
+        recoveredLocations.clear();
+        return journal.close();
+    }
+
+    private CompletableFuture<Void> deleteLeftoverFiles() {
+        // Remove anything else, such as per-player files from older versions
         final File usersFolder = new File(javaPlugin.getDataFolder(), "users");
-        if (!usersFolder.isDirectory()) return;
-        for (File userFile : usersFolder.listFiles()) {
-            if (userFile.isFile()) {
-                //noinspection ResultOfMethodCallIgnored
-                userFile.delete();
-            }
+        final File[] userFiles = usersFolder.listFiles(file -> file.isFile() && !file.equals(journal.getFile()));
+        CompletableFuture<Void> deleted = CompletableFuture.completedFuture(null);
+        if (userFiles == null) return deleted;
+        for (int start = 0; start < userFiles.length; start += CLEANUP_BATCH_SIZE) {
+            final int from = start;
+            final int to = Math.min(userFiles.length, start + CLEANUP_BATCH_SIZE);
+            deleted = deleted.thenRunAsync(() -> {
+                for (int i = from; i < to; i++) {
+                    //noinspection ResultOfMethodCallIgnored
+                    userFiles[i].delete();
+                }
+            });
         }
+        return deleted;
     }
 }
@@ -0,0 +1,104 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Matt (ms5984) <https://github.com/ms5984>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.ms5984.survivelist.survivelistevents.model;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.*;
+
+/**
+ * Preloads the chunks around event spawns and keeps them loaded
+ * with plugin chunk tickets until released.
+ * <p>
+ * Main thread only.
+ *
+ * @since 1.1.0
+ */
+final class SpawnChunks {
+    private final JavaPlugin plugin;
+    private final Map<World, Set<Long>> ticketed = new HashMap<>();
+    private boolean released;
+
+    SpawnChunks(JavaPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Load the chunks within a square radius of each spawn
+     * asynchronously, then add a plugin ticket to each.
+     *
+     * @param spawns the spawn locations
+     * @param radius radius in chunks; negative to do nothing
+     */
+    void warm(Collection<Location> spawns, int radius) {
+        if (radius < 0) return;
+        // collect each chunk once, however many spawns share it
+        final Map<World, Set<Long>> wanted = new HashMap<>();
+        for (Location spawn : spawns) {
+            final World world = spawn.getWorld();
+            if (world == null) continue;
+            final Set<Long> keys = wanted.computeIfAbsent(world, w -> new HashSet<>());
+            final int centerX = spawn.getBlockX() >> 4;
+            final int centerZ = spawn.getBlockZ() >> 4;
+            for (int x = centerX - radius; x <= centerX + radius; x++) {
+                for (int z = centerZ - radius; z <= centerZ + radius; z++) {
+                    keys.add(key(x, z));
+                }
+            }
+        }
+        wanted.forEach((world, keys) -> {
+            for (long key : keys) {
+                final int x = (int) key;
+                final int z = (int) (key >> 32);
+                // Paper completes the future on the main thread
+                world.getChunkAtAsync(x, z).thenAccept(chunk -> {
+                    if (released) return;
+                    if (world.addPluginChunkTicket(x, z, plugin)) {
+                        ticketed.computeIfAbsent(world, w -> new HashSet<>()).add(key);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Remove every ticket added by this instance; chunks still
+     * loading will not be ticketed.
+     */
+    void release() {
+        released = true;
+        ticketed.forEach((world, keys) -> {
+            for (long key : keys) {
+                world.removePluginChunkTicket((int) key, (int) (key >> 32), plugin);
+            }
+        });
+        ticketed.clear();
+    }
+
+    private static long key(int x, int z) {
+        return (x & 0xFFFFFFFFL) | ((long) z << 32);
+    }
+}
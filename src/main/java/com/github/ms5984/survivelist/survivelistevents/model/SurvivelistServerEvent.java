@@ -31,22 +31,40 @@ import com.github.ms5984.survivelist.survivelistevents.api.ServerEvent;
 import com.github.ms5984.survivelist.survivelistevents.api.exceptions.AlreadyPresentPlayerException;
 import com.github.ms5984.survivelist.survivelistevents.api.exceptions.InventoryNotClearPlayerException;
 import com.github.ms5984.survivelist.survivelistevents.api.exceptions.NotPresentPlayerException;
+import com.github.ms5984.survivelist.survivelistevents.util.TextLibrary;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+import net.kyori.adventure.audience.ForwardingAudience;
+import net.kyori.adventure.text.Component;
 import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
+import org.bukkit.entity.Projectile;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.event.player.PlayerRespawnEvent;
 import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.projectiles.ProjectileSource;
+import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 /**
  * Plugin implementation of ServerEvent.
+ * <p>
+ * Messages may be sent from any thread; they are queued and
+ * delivered on the main thread on the next tick. Messages sent
+ * after the event has ended are dropped.
  *
  * @since 1.0.0
  */
@@ -56,51 +74,111 @@ public class SurvivelistServerEvent implements ServerEvent {
     private final UUID uuid = UUID.randomUUID();
     private final Listener listener;
     private final Map<UUID, EventPlayer> players = new ConcurrentHashMap<>();
-    private final PlayerDataService playerDataService = new PlayerDataService();
+    private final Collection<EventPlayer> playersView = Collections.unmodifiableCollection(players.values());
+    private final ForwardingAudience participants = () -> Iterables.transform(players.values(), EventPlayer::getPlayer);
+    private final Queue<Broadcast> broadcasts = new ConcurrentLinkedQueue<>();
+    private final BukkitTask broadcastTask;
+    private volatile boolean ended;
+    private final Announcements announcements;
+    private final SpawnChunks spawnChunks;
+    private final ParticipantIndex participantIndex = new ParticipantIndex(); // main thread only
+    private final boolean friendlyFire;
+    private TeamAssigner teamAssigner; // main thread only
+    private Map<String, Location> assignerTeams; // team snapshot teamAssigner was built from
+    private final PlayerDataService playerDataService = SurvivelistEvents.getPlayerDataService();
 
     public SurvivelistServerEvent(SurvivelistEvents survivelistEvents) {
         // Set plugin instance
         this.javaPlugin = survivelistEvents;
         // Set event service
         this.eventService = survivelistEvents;
-        // Register Listener for player respawn event
+        final Mode mode = eventService.getAllModes().get(eventService.getEventMode());
+        this.friendlyFire = mode == null || mode.friendlyFire();
+        // Register Listener for player respawn and damage events
         this.listener = new Listener() {
             @EventHandler
             public void onPlayerRespawnEvent(PlayerRespawnEvent e) {
                 // Ignore players that haven't joined the event
-                if (!players.containsKey(e.getPlayer().getUniqueId())) {
+                if (!isParticipant(e.getPlayer().getUniqueId())) {
                     return;
                 }
                 eventService.getEventLocation().ifPresent(e::setRespawnLocation);
             }
+
+            @EventHandler(ignoreCancelled = true)
+            public void onEntityDamageByEntityEvent(EntityDamageByEntityEvent e) {
+                if (friendlyFire || participantIndex.size() == 0) return;
+                final Entity victim = e.getEntity();
+                if (!(victim instanceof Player)) return;
+                Entity damager = e.getDamager();
+                if (damager instanceof Projectile) {
+                    final ProjectileSource shooter = ((Projectile) damager).getShooter();
+                    if (!(shooter instanceof Player)) return;
+                    damager = (Player) shooter;
+                } else if (!(damager instanceof Player)) {
+                    return;
+                }
+                // players may still hurt themselves
+                if (damager == victim) return;
+                if (participantIndex.sameTeam(damager.getUniqueId(), victim.getUniqueId())) {
+                    e.setCancelled(true);
+                }
+            }
         };
         Bukkit.getPluginManager().registerEvents(listener, javaPlugin);
+        this.announcements = new Announcements(javaPlugin, this);
+        // Load spawn chunks ahead of the first joins and keep them loaded
+        this.spawnChunks = new SpawnChunks(javaPlugin);
+        final List<Location> spawns = new ArrayList<>();
+        eventService.getEventLocation().ifPresent(spawns::add);
+        eventService.getTeamLocations().ifPresent(map -> spawns.addAll(map.values()));
+        spawnChunks.warm(spawns, survivelistEvents.getConfig().getInt("chunk-warming.radius", 1));
+        // Deliver queued messages once per tick
+        this.broadcastTask = Bukkit.getScheduler().runTaskTimer(javaPlugin, this::drainBroadcasts, 1L, 1L);
     }
 
     @Override
     public void endEvent(EventService eventService) throws IllegalArgumentException {
         if (eventService != this.eventService) throw new IllegalArgumentException("EventService does not match");
-        // Send all players back
+        // Stop accepting messages, then deliver anything still queued
+        announcements.flush();
+        ended = true;
+        broadcastTask.cancel();
+        drainBroadcasts();
+        // Send all players back, spread over the following ticks
+        final Map<Player, Location> destinations = new HashMap<>(players.size() * 2);
+        final Set<UUID> returning = new HashSet<>(players.keySet());
         players.values().forEach(eventPlayer -> {
-            // teleport
-            eventPlayer.teleportBack();
-            // send message "event ended, returned to previous location"
-            eventPlayer.getPlayer().sendMessage(SurvivelistEvents.Messages.LEAVE_FORCE_END.toString());
+            final Player player = eventPlayer.getPlayer();
+            final Location originalLocation = playerDataService.getOriginalLocation(player);
+            if (originalLocation != null) destinations.put(player, originalLocation);
         });
-        // Take items, if needed
-        final Mode mode = eventService.getAllModes().get(eventService.getEventMode());
-        if (mode != null) {
-            for (String item : mode.itemsToGivePlayers()) {
-                Optional.ofNullable(eventService.getEventItems().get(item))
-                        .ifPresent(eventItem -> players.values().forEach(eventPlayer -> eventItem.takeFromPlayer(eventPlayer.getPlayer())));
+        // Keep the saved locations until everyone is back, so a stop before then can still return them
+        SurvivelistEvents.getTeleportScheduler().schedule(destinations, null,
+                // skip anyone who has joined a new event meanwhile
+                player -> eventService.getEvent().map(next -> !next.isParticipant(player.getUniqueId())).orElse(true),
+                // send message "event ended, returned to previous location"
+                player -> player.sendMessage(SurvivelistEvents.Messages.LEAVE_FORCE_END)
+        ).whenComplete((teleported, e) -> {
+            final ServerEvent next = eventService.getEvent().orElse(null);
+            if (next == null) {
+                playerDataService.clearCache();
+            } else {
+                // a new event started meanwhile; keep the data of its players
+                returning.stream().filter(uid -> !next.isParticipant(uid)).forEach(playerDataService::clearData);
             }
-        }
+        });
+        // Take items, including any left from an earlier mode's kit
+        final Mode mode = eventService.getAllModes().get(eventService.getEventMode());
+        final EventKit kit = mode == null ? EventKit.empty() : mode.getKit();
+        players.values().forEach(eventPlayer -> kit.takeFrom(eventPlayer.getPlayer()));
         // Cleanup players map
         players.clear();
+        participantIndex.clear();
         // Unregister listener (hopefully)
         HandlerList.unregisterAll(listener);
-        // Clear the player data folder
-        PlayerDataService.clearCache(javaPlugin);
+        // Let the spawn chunks unload again
+        spawnChunks.release();
     }
 
     @Override
@@ -119,11 +197,18 @@ public class SurvivelistServerEvent implements ServerEvent {
         final EventPlayer eventPlayer = new EventPlayer(this, player) {
             @Override
             public void teleportBack() {
-                player.teleportAsync(playerDataService.getOriginalLocation(player));
+                final Location originalLocation = playerDataService.getOriginalLocation(player);
+                if (originalLocation != null) player.teleportAsync(originalLocation);
+            }
+
+            @Override
+            public @Nullable String getTeam() {
+                return teamAssigner == null ? null : teamAssigner.getTeam(uid);
             }
         };
         // Store in map
         players.put(uid, eventPlayer);
+        participantIndex.put(uid, ParticipantIndex.NO_TEAM);
         return eventPlayer;
     }
 
@@ -137,16 +222,13 @@ public class SurvivelistServerEvent implements ServerEvent {
             eventPlayer.teleportBack();
             // Take items
             Optional.ofNullable(eventService.getAllModes().get(eventService.getEventMode()))
-                    .map(Mode::itemsToGivePlayers)
-                    .ifPresent(itemNames -> {
-                        final Map<String, EventItem> eventItems = eventService.getEventItems();
-                        for (String itemName : itemNames) {
-                            Optional.ofNullable(eventItems.get(itemName))
-                                    .ifPresent(eventItem -> eventItem.takeFromPlayer(eventPlayer.getPlayer()));
-                        }
-                    });
+                    .map(Mode::getKit)
+                    .orElse(EventKit.empty())
+                    .takeFrom(player);
             // Remove from map
             players.remove(uid);
+            if (teamAssigner != null) teamAssigner.unassign(uid);
+            participantIndex.remove(uid);
             // Delete player data
             playerDataService.clearData(player);
             return;
@@ -154,13 +236,77 @@ public class SurvivelistServerEvent implements ServerEvent {
         throw new NotPresentPlayerException(player, SurvivelistEvents.Messages.LEAVE_NOT_IN.toString());
     }
 
+    @Override
+    public @Nullable String assignTeam(@NotNull Player player) {
+        final UUID uid = player.getUniqueId();
+        if (!players.containsKey(uid)) return null;
+        return getTeamAssigner().assign(uid);
+    }
+
+    /**
+     * Get the team assigner, rebuilding it if the teams have changed.
+     * <p>
+     * Existing assignments to teams that still exist are kept.
+     *
+     * @return the current team assigner
+     */
+    private TeamAssigner getTeamAssigner() {
+        final Map<String, Location> teams = eventService.getTeamLocations().orElse(ImmutableMap.of());
+        if (teamAssigner == null || teams != assignerTeams) {
+            this.teamAssigner = new TeamAssigner(teams.keySet(), participantIndex, teamAssigner);
+            this.assignerTeams = teams;
+        }
+        return teamAssigner;
+    }
+
+    @Override
+    public void announceJoin(@NotNull Player player) {
+        announcements.join(player);
+    }
+
+    @Override
+    public void announceLeave(@NotNull Player player) {
+        announcements.leave(player);
+    }
+
+    @Override
+    public void sendMessage(String message) {
+        sendMessage(TextLibrary.LEGACY.deserialize(message));
+    }
+
     @Override
     public void sendMessage(String message, Predicate<Player> predicate) {
-        Bukkit.getScheduler().runTaskAsynchronously(javaPlugin, () -> players.values().stream()
-                .map(EventPlayer::getPlayer)
-                .filter(predicate)
-                .forEach(p -> p.sendMessage(message))
-        );
+        sendMessage(TextLibrary.LEGACY.deserialize(message), predicate);
+    }
+
+    @Override
+    public void sendMessage(Component message) {
+        if (!ended) broadcasts.add(new Broadcast(message, null));
+    }
+
+    @Override
+    public void sendMessage(Component message, Predicate<Player> predicate) {
+        if (!ended) broadcasts.add(new Broadcast(message, predicate));
+    }
+
+    /**
+     * Deliver all queued messages on the main thread.
+     * <p>
+     * Messages for every participant go through the participants
+     * audience; each is still sent as its own chat message.
+     */
+    private void drainBroadcasts() {
+        Broadcast broadcast;
+        while ((broadcast = broadcasts.poll()) != null) {
+            if (broadcast.predicate == null) {
+                participants.sendMessage(broadcast.message);
+                continue;
+            }
+            for (EventPlayer eventPlayer : players.values()) {
+                final Player player = eventPlayer.getPlayer();
+                if (broadcast.predicate.test(player)) player.sendMessage(broadcast.message);
+            }
+        }
     }
 
     @Override
@@ -168,11 +314,51 @@ public class SurvivelistServerEvent implements ServerEvent {
         return ImmutableSet.copyOf(players.values());
     }
 
+    @Override
+    public @NotNull Collection<EventPlayer> getPlayersView() {
+        return playersView;
+    }
+
+    @Override
+    public void forEachPlayer(@NotNull Consumer<? super EventPlayer> action) {
+        players.values().forEach(action);
+    }
+
+    @Override
+    public int playerCount() {
+        return players.size();
+    }
+
+    @Override
+    public boolean isParticipant(@NotNull UUID uid) {
+        return players.containsKey(uid);
+    }
+
+    @Override
+    public void teleportAllPlayers() {
+        eventService.getEventLocation().ifPresent(location -> {
+            final Map<Player, Location> destinations = new HashMap<>(players.size() * 2);
+            players.values().forEach(eventPlayer -> destinations.put(eventPlayer.getPlayer(), location));
+            // skip players who leave before their turn comes
+            SurvivelistEvents.getTeleportScheduler().schedule(destinations, null, player -> isParticipant(player.getUniqueId()), player -> {});
+        });
+    }
+
     @Override
     public @NotNull EventService getEventService() {
         return eventService;
     }
 
+    private static final class Broadcast {
+        private final Component message;
+        private final Predicate<Player> predicate; // null for all participants
+
+        private Broadcast(Component message, Predicate<Player> predicate) {
+            this.message = message;
+            this.predicate = predicate;
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,168 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Matt (ms5984) <https://github.com/ms5984>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.ms5984.survivelist.survivelistevents.model;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Assigns players to the least-loaded team in constant time.
+ * <p>
+ * Teams are kept in buckets by player count, each bucket a linked
+ * list threaded through arrays; the lowest non-empty bucket is
+ * tracked so the next assignment never needs a scan. Ties are
+ * broken by a shuffled team order. Assignments are stored as team
+ * ordinals in the event's {@link ParticipantIndex}.
+ * <p>
+ * Main thread only.
+ *
+ * @since 1.1.0
+ */
+final class TeamAssigner {
+    private static final int NONE = -1;
+    private final String[] teams;
+    private final Map<String, Integer> teamIndex;
+    private final int[] counts;
+    private final int[] next;
+    private final int[] prev;
+    private int[] heads; // first team of each count bucket
+    private int min;
+    private final ParticipantIndex participants;
+
+    /**
+     * Create an assigner over the given teams.
+     * <p>
+     * Assignments already in the index are carried over when their
+     * team still exists and cleared otherwise.
+     *
+     * @param teamNames the team names
+     * @param participants the participant index of the event
+     * @param previous the assigner whose ordinals are in the index, if any
+     */
+    TeamAssigner(Collection<String> teamNames, ParticipantIndex participants, @Nullable TeamAssigner previous) {
+        this.participants = participants;
+        final List<String> shuffled = new ArrayList<>(teamNames);
+        Collections.shuffle(shuffled);
+        this.teams = shuffled.toArray(new String[0]);
+        this.teamIndex = new HashMap<>(teams.length * 2);
+        this.counts = new int[teams.length];
+        this.next = new int[teams.length];
+        this.prev = new int[teams.length];
+        this.heads = new int[8];
+        Arrays.fill(heads, NONE);
+        for (int i = teams.length - 1; i >= 0; i--) {
+            teamIndex.put(teams[i], i);
+            link(i);
+        }
+        if (previous != null) {
+            participants.remapTeams(old -> {
+                if (old < 0) return old;
+                final Integer team = teamIndex.get(previous.teams[old]);
+                if (team == null) return ParticipantIndex.NO_TEAM;
+                increment(team);
+                return team;
+            });
+        }
+    }
+
+    /**
+     * Get the assigned team of a player.
+     *
+     * @param uid the player's unique id
+     * @return the team or null if unassigned
+     */
+    @Nullable String getTeam(UUID uid) {
+        final int team = participants.teamOf(uid);
+        return team < 0 ? null : teams[team];
+    }
+
+    /**
+     * Get the team of a player, assigning the least-loaded team
+     * if the player has none yet.
+     *
+     * @param uid the unique id of a participant
+     * @return the team or null if there are no teams or the player
+     *         is not a participant
+     */
+    @Nullable String assign(UUID uid) {
+        final int existing = participants.teamOf(uid);
+        if (existing >= 0) return teams[existing];
+        if (existing == ParticipantIndex.ABSENT || teams.length == 0) return null;
+        final int team = heads[min];
+        participants.put(uid, team);
+        increment(team);
+        return teams[team];
+    }
+
+    /**
+     * Release a participant's team, keeping them in the index.
+     *
+     * @param uid the player's unique id
+     */
+    void unassign(UUID uid) {
+        final int team = participants.teamOf(uid);
+        if (team >= 0) {
+            participants.put(uid, ParticipantIndex.NO_TEAM);
+            decrement(team);
+        }
+    }
+
+    private void increment(int team) {
+        unlink(team);
+        counts[team]++;
+        link(team);
+        if (heads[min] == NONE) min++;
+    }
+
+    private void decrement(int team) {
+        unlink(team);
+        counts[team]--;
+        link(team);
+        if (counts[team] < min) min = counts[team];
+    }
+
+    private void link(int team) {
+        final int count = counts[team];
+        if (count >= heads.length) {
+            final int oldLength = heads.length;
+            heads = Arrays.copyOf(heads, Math.max(count + 1, oldLength * 2));
+            Arrays.fill(heads, oldLength, heads.length, NONE);
+        }
+        final int head = heads[count];
+        next[team] = head;
+        prev[team] = NONE;
+        if (head != NONE) prev[head] = team;
+        heads[count] = team;
+    }
+
+    private void unlink(int team) {
+        if (prev[team] != NONE) {
+            next[prev[team]] = next[team];
+        } else {
+            heads[counts[team]] = next[team];
+        }
+        if (next[team] != NONE) prev[next[team]] = prev[team];
+    }
+}
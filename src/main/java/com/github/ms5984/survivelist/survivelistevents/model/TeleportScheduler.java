@@ -0,0 +1,245 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Matt (ms5984) <https://github.com/ms5984>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.ms5984.survivelist.survivelistevents.model;
+
+import com.github.ms5984.survivelist.survivelistevents.SurvivelistEvents;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Spreads mass teleports over several ticks.
+ * <p>
+ * Each tick, teleports are started until a time budget is used up;
+ * the budget shrinks when the server is behind (average tick time
+ * above 50ms). Players are ordered by destination chunk so each
+ * chunk is loaded once and then reused by the following teleports.
+ * <p>
+ * Main thread only.
+ *
+ * @since 1.1.0
+ */
+public final class TeleportScheduler {
+    private static final double TARGET_MSPT = 50d;
+    private static final Comparator<Location> BY_CHUNK = Comparator
+            .comparing((Location location) -> worldKey(location.getWorld()))
+            .thenComparingInt(location -> location.getBlockX() >> 4)
+            .thenComparingInt(location -> location.getBlockZ() >> 4);
+    private final JavaPlugin plugin;
+    private final long budgetNanos;
+    private final int progressInterval;
+    private final Deque<Job> jobs = new ArrayDeque<>();
+    private BukkitTask task;
+
+    public TeleportScheduler(JavaPlugin plugin) {
+        this.plugin = plugin;
+        final double budgetMillis = plugin.getConfig().getDouble("teleport.tick-budget", 5d);
+        this.budgetNanos = (long) (Math.max(0.1d, budgetMillis) * TimeUnit.MILLISECONDS.toNanos(1));
+        this.progressInterval = Math.max(1, plugin.getConfig().getInt("teleport.progress-interval", 40));
+    }
+
+    /**
+     * Teleport players to their destinations over the following ticks.
+     * <p>
+     * Progress and completion are reported to the sender, or to the
+     * console if no sender is given. Players who are offline by the
+     * time their turn comes are skipped.
+     *
+     * @param destinations the destination of each player
+     * @param sender who to report progress to
+     * @return a future completing with the number of successful teleports
+     */
+    public @NotNull CompletableFuture<Integer> schedule(@NotNull Map<Player, Location> destinations, @Nullable CommandSender sender) {
+        return schedule(destinations, sender, player -> true, player -> {});
+    }
+
+    /**
+     * Teleport players to their destinations over the following ticks.
+     * <p>
+     * The condition is tested when a player's turn comes, so players
+     * whose state changed while the job was queued can be skipped.
+     *
+     * @param destinations the destination of each player
+     * @param sender who to report progress to
+     * @param condition whether a player should still be teleported
+     * @param onTeleport run for each player once they have arrived
+     * @return a future completing with the number of successful teleports
+     */
+    public @NotNull CompletableFuture<Integer> schedule(@NotNull Map<Player, Location> destinations, @Nullable CommandSender sender,
+                                                        @NotNull Predicate<Player> condition, @NotNull Consumer<Player> onTeleport) {
+        if (destinations.isEmpty()) return CompletableFuture.completedFuture(0);
+        final Job job = new Job(destinations, sender == null ? Bukkit.getConsoleSender() : sender, condition, onTeleport);
+        jobs.add(job);
+        if (task == null) {
+            task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+        }
+        return job.done;
+    }
+
+    private void tick() {
+        long budget = budgetNanos;
+        final double mspt = Bukkit.getAverageTickTime();
+        if (mspt > TARGET_MSPT) {
+            // behind: give up a proportional share of the budget
+            budget = (long) (budget * (TARGET_MSPT / mspt));
+        }
+        final long deadline = System.nanoTime() + budget;
+        Job job;
+        while ((job = jobs.peek()) != null) {
+            if (job.step(deadline)) {
+                jobs.poll();
+            }
+            if (System.nanoTime() >= deadline) break;
+        }
+        if (jobs.isEmpty()) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /**
+     * Start every queued teleport immediately, without a time budget.
+     * <p>
+     * Remaining players are teleported synchronously, so nothing is
+     * left waiting on a later tick; used when the plugin disables.
+     */
+    public void finish() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        Job job;
+        while ((job = jobs.poll()) != null) {
+            job.finish();
+        }
+    }
+
+    private static String worldKey(@Nullable World world) {
+        return world == null ? "" : world.getUID().toString();
+    }
+
+    private final class Job {
+        private final Player[] players;
+        private final Location[] targets;
+        private final CommandSender sender;
+        private final Predicate<Player> condition;
+        private final Consumer<Player> onTeleport;
+        private final long started = System.nanoTime();
+        private final AtomicInteger settled = new AtomicInteger();
+        private final AtomicInteger succeeded = new AtomicInteger();
+        private final CompletableFuture<Integer> done = new CompletableFuture<>();
+        private int next;
+        private int ticks;
+
+        private Job(Map<Player, Location> destinations, CommandSender sender, Predicate<Player> condition, Consumer<Player> onTeleport) {
+            final int size = destinations.size();
+            @SuppressWarnings("unchecked")
+            final Map.Entry<Player, Location>[] entries = destinations.entrySet().toArray(new Map.Entry[size]);
+            Arrays.sort(entries, Map.Entry.comparingByValue(BY_CHUNK));
+            this.players = new Player[size];
+            this.targets = new Location[size];
+            for (int i = 0; i < size; i++) {
+                players[i] = entries[i].getKey();
+                targets[i] = entries[i].getValue();
+            }
+            this.sender = sender;
+            this.condition = condition;
+            this.onTeleport = onTeleport;
+        }
+
+        /**
+         * Start teleports until the deadline passes; always starts at least one.
+         *
+         * @return true once every teleport has been started
+         */
+        private boolean step(long deadline) {
+            do {
+                final Player player = players[next];
+                final Location target = targets[next];
+                // drop references as we go
+                players[next] = null;
+                targets[next] = null;
+                next++;
+                if (player.isOnline() && condition.test(player)) {
+                    player.teleportAsync(target).whenComplete((success, e) -> settle(player, e == null && Boolean.TRUE.equals(success)));
+                } else {
+                    settle(false);
+                }
+            } while (next < players.length && System.nanoTime() < deadline);
+            if (next < players.length && ++ticks % progressInterval == 0) {
+                sender.sendMessage(SurvivelistEvents.Messages.TELEPORT_PROGRESS__.replaceComponent(next, players.length));
+            }
+            return next == players.length;
+        }
+
+        /**
+         * Teleport every remaining player synchronously.
+         */
+        private void finish() {
+            while (next < players.length) {
+                final Player player = players[next];
+                final Location target = targets[next];
+                players[next] = null;
+                targets[next] = null;
+                next++;
+                if (player.isOnline() && condition.test(player)) {
+                    settle(player, player.teleport(target));
+                } else {
+                    settle(false);
+                }
+            }
+        }
+
+        private void settle(Player player, boolean success) {
+            if (success) onTeleport.accept(player);
+            settle(success);
+        }
+
+        private void settle(boolean success) {
+            if (success) succeeded.incrementAndGet();
+            if (settled.incrementAndGet() == players.length) {
+                final String seconds = String.format("%.1f", (System.nanoTime() - started) / 1e9d);
+                sender.sendMessage(SurvivelistEvents.Messages.TELEPORT_DONE___.replaceComponent(succeeded.get(), players.length, seconds));
+                done.complete(succeeded.get());
+            }
+        }
+    }
+}
@@ -43,34 +43,25 @@ import java.util.function.Function;
  * @since 1.0.0
  */
 @SuppressWarnings("UnusedReturnValue")
-public class DataFile {
+public class DataFile implements WriteBehind {
     private final File file;
     private final YamlConfiguration configuration;
     private final ExecutorService executorService;
+    private boolean dirty; // only accessed on executorService
+    private volatile boolean closed;
 
     public DataFile(String filename) {
         this(null, filename);
     }
     public DataFile(String directory, String filename) {
-        File dir = JavaPlugin.getProvidingPlugin(getClass()).getDataFolder();
-        // if directory is not null && not empty
-        if (directory != null && !directory.isEmpty()) {
-            dir = new File(dir, directory);
-        }
-        // Create parent dir as needed
-        if (!dir.mkdirs() && !dir.isDirectory()) {
-            throw new IllegalStateException("Unable to create or resolve parent directory: " + dir);
-        }
+        final File dir = resolveDirectory(directory);
         // Create file (object)
         this.file = new File(dir, (filename.endsWith(".yml") ? filename : filename + ".yml"));
-        // Load from file
-        if (file.isFile()) {
-            configuration = YamlConfiguration.loadConfiguration(file);
-        } else {
-            configuration = new YamlConfiguration();
-        }
+        this.configuration = new YamlConfiguration();
         // Get / Set up ExecutorService
         this.executorService = SurvivelistEvents.getDataService().getExecutor(this);
+        // Load from file as the first operation so every later one sees the result
+        executorService.execute(this::load);
     }
 
     /**
@@ -84,6 +75,7 @@ public class DataFile {
      * @return the value returned by provided function
      */
     public <R> CompletableFuture<R> getValue(Function<FileConfiguration, R> readOperation) {
+        checkOpen();
         return CompletableFuture.supplyAsync(() -> readOperation.apply(configuration), executorService);
     }
 
@@ -106,24 +98,130 @@ public class DataFile {
      * @return Void-return CompletableFuture for andThen-type logic
      */
     public CompletableFuture<Void> update(Consumer<FileConfiguration> updateOperation) {
+        checkOpen();
         return CompletableFuture.runAsync(() -> updateOperation.accept(configuration), executorService);
     }
 
+    /**
+     * Update values and save them once the write-behind window has passed.
+     * <p>
+     * The file is marked as changed by the same operation that applies
+     * the update, so a {@link #close()} made afterwards always writes it.
+     * Prefer this over chaining {@link #saveLater()} onto {@link #update}.
+     *
+     * @param updateOperation operation to update values
+     * @return Void-return CompletableFuture for andThen-type logic
+     * @since 1.1.0
+     */
+    public CompletableFuture<Void> updateLater(Consumer<FileConfiguration> updateOperation) {
+        checkOpen();
+        return CompletableFuture.runAsync(() -> {
+            updateOperation.accept(configuration);
+            markDirty();
+        }, executorService);
+    }
+
     /**
      * Save the data file.
      *
      * @return Void-return CompletableFuture for andThen-type logic
      */
     public CompletableFuture<Void> save() {
+        checkOpen();
+        return CompletableFuture.runAsync(this::saveNow, executorService);
+    }
+
+    /**
+     * Save the data file once the write-behind window has passed.
+     * <p>
+     * Changes made by {@link #update} calls before the window closes
+     * are all written by that single save.
+     *
+     * @since 1.1.0
+     */
+    public void saveLater() {
+        checkOpen();
+        executorService.execute(this::markDirty);
+    }
+
+    // only called on executorService
+    private void markDirty() {
+        if (dirty) return;
+        dirty = true;
+        // once closed, the pending close() writes it instead
+        if (!closed) SurvivelistEvents.getDataService().scheduleFlush(this);
+    }
+
+    /**
+     * Save the data file now if {@link #saveLater()} has unsaved changes.
+     *
+     * @return Void-return CompletableFuture for andThen-type logic
+     * @since 1.1.0
+     */
+    @Override
+    public CompletableFuture<Void> flush() {
+        return CompletableFuture.runAsync(() -> {
+            if (dirty) saveNow();
+        }, executorService);
+    }
+
+    /**
+     * Close this data file.
+     * <p>
+     * Unsaved changes are written, the loaded data is released and the
+     * file is evicted from any pending write-behind flush. Any later
+     * operation throws {@link IllegalStateException}.
+     *
+     * @return Void-return CompletableFuture for andThen-type logic
+     * @since 1.1.0
+     */
+    public CompletableFuture<Void> close() {
+        if (closed) return CompletableFuture.completedFuture(null);
+        closed = true;
+        SurvivelistEvents.getDataService().evict(this);
         return CompletableFuture.runAsync(() -> {
+            if (dirty) saveNow();
             try {
-                configuration.save(file);
-            } catch (IOException e) {
-                throw new IllegalStateException("Unable to save DataFile[" + file + "]", e);
+                configuration.loadFromString("");
+            } catch (InvalidConfigurationException e) {
+                throw new IllegalStateException(e);
             }
         }, executorService);
     }
 
+    /**
+     * Check whether this data file has been closed.
+     *
+     * @return true if {@link #close()} has been called
+     * @since 1.1.0
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    private void checkOpen() {
+        if (closed) throw new IllegalStateException("DataFile[" + file + "] is closed");
+    }
+
+    private void load() {
+        if (!file.isFile()) return;
+        try {
+            configuration.load(file);
+        } catch (IOException | InvalidConfigurationException e) {
+            JavaPlugin.getProvidingPlugin(getClass()).getLogger()
+                    .warning("Unable to load DataFile[" + file + "]: " + e.getMessage());
+        }
+    }
+
+    private void saveNow() {
+        dirty = false;
+        try {
+            configuration.save(file);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to save DataFile[" + file + "]", e);
+        }
+    }
+
     /**
      * Delete the data file (if it exists).
      * <p>
@@ -132,7 +230,9 @@ public class DataFile {
      * @return true if the file existed and was deleted
      */
     public CompletableFuture<Boolean> delete() {
+        checkOpen();
         return CompletableFuture.supplyAsync(() -> {
+            dirty = false;
             try {
                 configuration.loadFromString("");
             } catch (InvalidConfigurationException e) {
@@ -142,6 +242,19 @@ public class DataFile {
         }, executorService);
     }
 
+    static File resolveDirectory(String directory) {
+        File dir = JavaPlugin.getProvidingPlugin(DataFile.class).getDataFolder();
+        // if directory is not null && not empty
+        if (directory != null && !directory.isEmpty()) {
+            dir = new File(dir, directory);
+        }
+        // Create parent dir as needed
+        if (!dir.mkdirs() && !dir.isDirectory()) {
+            throw new IllegalStateException("Unable to create or resolve parent directory: " + dir);
+        }
+        return dir;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -23,20 +23,248 @@
  */
 package com.github.ms5984.survivelist.survivelistevents.util;
 
-import java.util.Map;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * Service which manages single-thread executors for DataFiles.
+ * Service which manages a fixed pool of single-thread executors for DataFiles.
+ * <p>
+ * Each DataFile is hashed onto one stripe, so all of its operations
+ * remain ordered while the total thread count stays constant no matter
+ * how many files are in use.
+ * <p>
+ * Also schedules the write-behind flushes requested by
+ * {@link DataFile#saveLater()} and {@link LocationStore#saveLater()}.
  *
  * @since 1.0.0
  */
 public class DataService {
-    private final Map<DataFile, ExecutorService> executors = new ConcurrentHashMap<>();
+    public static final int DEFAULT_THREADS = 2;
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    public static final long DEFAULT_SAVE_DELAY = 1000L;
+    private final Stripe[] stripes;
+    private final LongAdder saturatedSubmissions = new LongAdder();
+    private final ScheduledExecutorService flushScheduler;
+    private final Set<WriteBehind> pendingFlush = ConcurrentHashMap.newKeySet();
+    private final long saveDelay;
 
-    ExecutorService getExecutor(DataFile dataFile) {
-        return executors.computeIfAbsent(dataFile, df -> Executors.newSingleThreadExecutor());
+    public DataService() {
+        this(DEFAULT_THREADS, DEFAULT_QUEUE_CAPACITY, DEFAULT_SAVE_DELAY);
+    }
+
+    /**
+     * Create a DataService with a fixed number of stripes.
+     *
+     * @param threads number of stripes (one thread each)
+     * @param queueCapacity pending operations per stripe before further ones overflow
+     * @param saveDelay write-behind window in milliseconds; 0 saves immediately
+     * @throws IllegalArgumentException if threads or queueCapacity is less than 1
+     * @since 1.1.0
+     */
+    public DataService(int threads, int queueCapacity, long saveDelay) throws IllegalArgumentException {
+        if (threads < 1) throw new IllegalArgumentException("threads must be at least 1");
+        if (queueCapacity < 1) throw new IllegalArgumentException("queueCapacity must be at least 1");
+        this.saveDelay = Math.max(0L, saveDelay);
+        this.flushScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread thread = new Thread(r, "SurvivelistEvents-DataFlush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.stripes = new Stripe[threads];
+        for (int i = 0; i < threads; i++) {
+            stripes[i] = new Stripe(i, queueCapacity);
+        }
+    }
+
+    ExecutorService getExecutor(Object key) {
+        final int h = key.hashCode();
+        return stripes[Math.floorMod(h ^ (h >>> 16), stripes.length)];
+    }
+
+    void scheduleFlush(WriteBehind store) {
+        if (saveDelay == 0L) {
+            store.flush();
+            return;
+        }
+        if (!pendingFlush.add(store)) return;
+        try {
+            flushScheduler.schedule(() -> {
+                if (pendingFlush.remove(store)) store.flush();
+            }, saveDelay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ignored) {
+            // shutting down; flushAll will pick it up
+        }
+    }
+
+    void evict(WriteBehind store) {
+        pendingFlush.remove(store);
+    }
+
+    /**
+     * Immediately flush every store waiting on its write-behind window.
+     *
+     * @return a future completing once all flushes have been written
+     * @since 1.1.0
+     */
+    public CompletableFuture<Void> flushAll() {
+        final List<CompletableFuture<Void>> flushes = new ArrayList<>();
+        for (Iterator<WriteBehind> iterator = pendingFlush.iterator(); iterator.hasNext(); ) {
+            final WriteBehind store = iterator.next();
+            iterator.remove();
+            flushes.add(store.flush());
+        }
+        return CompletableFuture.allOf(flushes.toArray(new CompletableFuture[0]));
+    }
+
+    /**
+     * Get the number of threads backing this service.
+     *
+     * @return the fixed thread count
+     * @since 1.1.0
+     */
+    public int getThreadCount() {
+        return stripes.length;
+    }
+
+    /**
+     * Get the number of operations currently waiting across all stripes.
+     *
+     * @return total queued operations
+     * @since 1.1.0
+     */
+    public int getQueuedTasks() {
+        int queued = 0;
+        for (Stripe stripe : stripes) {
+            queued += stripe.getQueue().size() + stripe.overflowSize();
+        }
+        return queued;
+    }
+
+    /**
+     * Get the approximate number of operations completed by all stripes.
+     *
+     * @return total completed operations
+     * @since 1.1.0
+     */
+    public long getCompletedTasks() {
+        long completed = 0;
+        for (Stripe stripe : stripes) {
+            completed += stripe.getCompletedTaskCount();
+        }
+        return completed;
+    }
+
+    /**
+     * Get the number of submissions which found their stripe's queue full.
+     *
+     * @return number of submissions held in an overflow queue
+     * @since 1.1.0
+     */
+    public long getSaturatedSubmissions() {
+        return saturatedSubmissions.sum();
+    }
+
+    /**
+     * Stop accepting new operations and wait for pending ones to finish.
+     * <p>
+     * Pending write-behind saves are flushed first. Stripes which
+     * do not finish within the timeout are interrupted.
+     *
+     * @param timeout maximum time to wait
+     * @param unit unit of the timeout
+     * @return true if all pending operations completed
+     * @since 1.1.0
+     */
+    public boolean shutdown(long timeout, TimeUnit unit) {
+        flushScheduler.shutdownNow();
+        flushAll();
+        for (Stripe stripe : stripes) {
+            stripe.shutdown();
+        }
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        boolean terminated = true;
+        for (Stripe stripe : stripes) {
+            try {
+                if (!stripe.awaitTermination(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    stripe.shutdownNow();
+                    terminated = false;
+                }
+            } catch (InterruptedException e) {
+                stripe.shutdownNow();
+                Thread.currentThread().interrupt();
+                terminated = false;
+            }
+        }
+        return terminated;
+    }
+
+    /**
+     * A single-thread executor with a bounded queue.
+     * <p>
+     * Submissions which find the queue full are held in an unbounded
+     * overflow queue instead of blocking the caller or running inline;
+     * while it holds anything, later submissions join it too, and the
+     * stripe's thread moves them into the queue as space frees up. This
+     * keeps every submission in order without ever stalling the caller.
+     */
+    private final class Stripe extends ThreadPoolExecutor {
+        private final Queue<Runnable> overflow = new ArrayDeque<>(); // guarded by itself
+
+        private Stripe(int stripe, int queueCapacity) {
+            super(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity), r -> {
+                final Thread thread = new Thread(r, "SurvivelistEvents-Data-" + stripe);
+                thread.setDaemon(true);
+                return thread;
+            });
+            setRejectedExecutionHandler((r, executor) -> {
+                // called from execute, so the overflow lock is held
+                if (isShutdown()) throw new RejectedExecutionException("DataService has been shut down");
+                saturatedSubmissions.increment();
+                overflow.add(r);
+            });
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            synchronized (overflow) {
+                if (overflow.isEmpty()) {
+                    super.execute(command);
+                    return;
+                }
+                if (isShutdown()) throw new RejectedExecutionException("DataService has been shut down");
+                saturatedSubmissions.increment();
+                overflow.add(command);
+            }
+        }
+
+        @Override
+        protected void afterExecute(Runnable r, Throwable t) {
+            synchronized (overflow) {
+                Runnable next;
+                while ((next = overflow.peek()) != null && getQueue().offer(next)) {
+                    overflow.poll();
+                }
+            }
+        }
+
+        private int overflowSize() {
+            synchronized (overflow) {
+                return overflow.size();
+            }
+        }
     }
 }
@@ -0,0 +1,155 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Matt (ms5984) <https://github.com/ms5984>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.ms5984.survivelist.survivelistevents.util;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * Compact fixed-size binary encoding for Bukkit locations.
+ * <p>
+ * A location is written as its world UUID (two longs), x, y and z as
+ * doubles, then yaw and pitch as floats.
+ * <p>
+ * Worlds may load after this plugin, so stores should keep locations
+ * encoded and only decode them once they are needed; an encoding
+ * whose world is not loaded is still valid and should be kept as-is.
+ *
+ * @since 1.1.0
+ */
+public final class LocationCodec {
+    /**
+     * The number of bytes used by every encoded location.
+     */
+    public static final int ENCODED_LENGTH = 2 * Long.BYTES + 3 * Double.BYTES + 2 * Float.BYTES;
+
+    private LocationCodec() { // utility class only
+        throw new IllegalStateException();
+    }
+
+    /**
+     * Write a location.
+     *
+     * @param out destination
+     * @param location a Bukkit Location
+     * @throws IOException if the destination cannot be written
+     * @throws IllegalArgumentException if the location has no world
+     */
+    public static void write(@NotNull DataOutput out, @NotNull Location location) throws IOException, IllegalArgumentException {
+        final World world = location.getWorld();
+        if (world == null) throw new IllegalArgumentException("Location has no world");
+        out.writeLong(world.getUID().getMostSignificantBits());
+        out.writeLong(world.getUID().getLeastSignificantBits());
+        out.writeDouble(location.getX());
+        out.writeDouble(location.getY());
+        out.writeDouble(location.getZ());
+        out.writeFloat(location.getYaw());
+        out.writeFloat(location.getPitch());
+    }
+
+    /**
+     * Read a location written by {@link #write(DataOutput, Location)}.
+     * <p>
+     * The world is resolved by UUID; if it is not loaded the
+     * returned location has no world.
+     *
+     * @param in source
+     * @return a new Location
+     * @throws IOException if the source cannot be read
+     */
+    public static @NotNull Location read(@NotNull DataInput in) throws IOException {
+        final long worldMost = in.readLong();
+        final long worldLeast = in.readLong();
+        final World world = Bukkit.getWorld(new UUID(worldMost, worldLeast));
+        return new Location(world, in.readDouble(), in.readDouble(), in.readDouble(), in.readFloat(), in.readFloat());
+    }
+
+    /**
+     * Encode a location to a new byte array.
+     *
+     * @param location a Bukkit Location
+     * @return an array of {@link #ENCODED_LENGTH} bytes
+     * @throws IllegalArgumentException if the location has no world
+     */
+    public static byte @NotNull [] encode(@NotNull Location location) throws IllegalArgumentException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(ENCODED_LENGTH);
+        try {
+            write(new DataOutputStream(bytes), location);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // not thrown by ByteArrayOutputStream
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decode a location from a byte array.
+     * <p>
+     * The world is resolved by UUID; if it is not loaded the
+     * returned location has no world.
+     *
+     * @param encoded bytes produced by {@link #encode(Location)}
+     * @return a new Location
+     * @throws IllegalArgumentException if the array is not a valid encoding
+     */
+    public static @NotNull Location decode(byte @NotNull [] encoded) throws IllegalArgumentException {
+        checkLength(encoded);
+        try {
+            return read(new DataInputStream(new ByteArrayInputStream(encoded)));
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /**
+     * Get the UUID of the world of an encoded location.
+     *
+     * @param encoded bytes produced by {@link #encode(Location)}
+     * @return the world UUID, whether or not that world is loaded
+     * @throws IllegalArgumentException if the array is not a valid encoding
+     */
+    public static @NotNull UUID getWorldId(byte @NotNull [] encoded) throws IllegalArgumentException {
+        checkLength(encoded);
+        final ByteBuffer buffer = ByteBuffer.wrap(encoded);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    private static void checkLength(byte[] encoded) throws IllegalArgumentException {
+        if (encoded.length != ENCODED_LENGTH) {
+            throw new IllegalArgumentException("Expected " + ENCODED_LENGTH + " bytes, got " + encoded.length);
+        }
+    }
+}
@@ -0,0 +1,311 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Matt (ms5984) <https://github.com/ms5984>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.ms5984.survivelist.survivelistevents.util;
+
+import com.github.ms5984.survivelist.survivelistevents.SurvivelistEvents;
+import org.bukkit.Location;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.logging.Logger;
+
+/**
+ * Represents an append-only binary journal of locations keyed by UUID.
+ * <p>
+ * Every change is a single appended record, and the whole journal is
+ * replayed sequentially once when it is opened. The file is rewritten
+ * (compacted) once most of its records have been superseded.
+ * Locations are kept encoded by {@link LocationCodec}, so one whose
+ * world is not loaded survives compaction unchanged.
+ *
+ * @since 1.1.0
+ */
+@SuppressWarnings("UnusedReturnValue")
+public class LocationJournal {
+    private static final int MAGIC = 0x534C4A31; // SLJ1
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    private static final int COMPACT_THRESHOLD = 256;
+    private final File file;
+    private final ExecutorService executorService;
+    private final Logger logger;
+    // only accessed on executorService
+    private final Map<UUID, byte[]> entries = new HashMap<>();
+    private DataOutputStream out;
+    private int records;
+    private volatile boolean closed;
+
+    public LocationJournal(String directory, String filename) {
+        this(new File(DataFile.resolveDirectory(directory), (filename.endsWith(".journal") ? filename : filename + ".journal")),
+                SurvivelistEvents.getDataService(),
+                JavaPlugin.getProvidingPlugin(LocationJournal.class).getLogger());
+    }
+    LocationJournal(File file, DataService dataService, Logger logger) {
+        this.file = file;
+        this.logger = logger;
+        // Get / Set up ExecutorService
+        this.executorService = dataService.getExecutor(this);
+        // Replay as the first operation so every later one sees the result
+        executorService.execute(this::replay);
+    }
+
+    /**
+     * Get the file backing this journal.
+     *
+     * @return the journal file
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Get a location from the journal, still encoded.
+     * <p>
+     * <b>Performed async. Avoid calling Bukkit API.</b>
+     *
+     * @param uuid key of the location
+     * @return a future describing the encoded location or null if not present
+     * @see LocationCodec#decode(byte[])
+     */
+    public CompletableFuture<byte[]> get(UUID uuid) {
+        checkOpen();
+        return CompletableFuture.supplyAsync(() -> {
+            final byte[] encoded = entries.get(uuid);
+            return encoded == null ? null : encoded.clone();
+        }, executorService);
+    }
+
+    /**
+     * Get every location in the journal, still encoded.
+     * <p>
+     * <b>Performed async. Avoid calling Bukkit API.</b>
+     *
+     * @return a future describing a copy of all journal entries
+     * @see LocationCodec#decode(byte[])
+     */
+    public CompletableFuture<Map<UUID, byte[]>> getAll() {
+        checkOpen();
+        return CompletableFuture.supplyAsync(() -> {
+            final Map<UUID, byte[]> copy = new HashMap<>(entries.size() * 2);
+            entries.forEach((uuid, encoded) -> copy.put(uuid, encoded.clone()));
+            return copy;
+        }, executorService);
+    }
+
+    /**
+     * Append a location to the journal, replacing any previous value.
+     *
+     * @param uuid key of the location
+     * @param location the location
+     * @return Void-return CompletableFuture for andThen-type logic
+     * @throws IllegalArgumentException if the location has no world
+     */
+    public CompletableFuture<Void> put(UUID uuid, Location location) throws IllegalArgumentException {
+        checkOpen();
+        final byte[] encoded = LocationCodec.encode(location);
+        return CompletableFuture.runAsync(() -> {
+            entries.put(uuid, encoded);
+            append(uuid, encoded);
+        }, executorService);
+    }
+
+    /**
+     * Append the removal of a location to the journal.
+     *
+     * @param uuid key of the location
+     * @return Void-return CompletableFuture for andThen-type logic
+     */
+    public CompletableFuture<Void> remove(UUID uuid) {
+        checkOpen();
+        return CompletableFuture.runAsync(() -> {
+            if (entries.remove(uuid) == null) return;
+            append(uuid, null);
+            // nobody left; release the file handle until the next put
+            if (entries.isEmpty()) closeStream();
+        }, executorService);
+    }
+
+    /**
+     * Remove every location and delete the journal file.
+     *
+     * @return Void-return CompletableFuture for andThen-type logic
+     */
+    public CompletableFuture<Void> clear() {
+        checkOpen();
+        return CompletableFuture.runAsync(() -> {
+            entries.clear();
+            closeStream();
+            records = 0;
+            if (file.exists() && !file.delete()) {
+                throw new IllegalStateException("Unable to delete LocationJournal[" + file + "]");
+            }
+        }, executorService);
+    }
+
+    /**
+     * Close this journal, releasing its file handle and entries.
+     * <p>
+     * The file is kept for replay on next open. Any later operation
+     * throws {@link IllegalStateException}.
+     *
+     * @return Void-return CompletableFuture for andThen-type logic
+     */
+    public CompletableFuture<Void> close() {
+        if (closed) return CompletableFuture.completedFuture(null);
+        closed = true;
+        return CompletableFuture.runAsync(() -> {
+            closeStream();
+            entries.clear();
+        }, executorService);
+    }
+
+    private void checkOpen() {
+        if (closed) throw new IllegalStateException("LocationJournal[" + file + "] is closed");
+    }
+
+    private void append(UUID uuid, byte[] encoded) {
+        try {
+            if (out == null) {
+                final boolean fresh = file.length() == 0L;
+                out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)));
+                if (fresh) out.writeInt(MAGIC);
+            }
+            writeRecord(out, uuid, encoded);
+            out.flush();
+        } catch (IOException e) {
+            closeStream();
+            throw new IllegalStateException("Unable to write LocationJournal[" + file + "]", e);
+        }
+        if (++records >= COMPACT_THRESHOLD && records > entries.size() * 2) {
+            compact();
+        }
+    }
+
+    private void replay() {
+        if (!file.isFile()) return;
+        boolean torn = false;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC) throw new IOException("Unknown journal format");
+            while (true) {
+                final byte op;
+                try {
+                    op = in.readByte();
+                } catch (EOFException end) {
+                    break;
+                }
+                final UUID uuid = new UUID(in.readLong(), in.readLong());
+                if (op == PUT) {
+                    final byte[] encoded = new byte[LocationCodec.ENCODED_LENGTH];
+                    in.readFully(encoded);
+                    entries.put(uuid, encoded);
+                } else if (op == REMOVE) {
+                    entries.remove(uuid);
+                } else {
+                    throw new IOException("Unknown record type " + op);
+                }
+                ++records;
+            }
+        } catch (EOFException e) {
+            // the last record was cut short (crash while writing); keep what was read
+            torn = true;
+        } catch (IOException e) {
+            // keep the records read so far, and the unreadable file for inspection
+            final File corrupt = new File(file.getParentFile(), file.getName() + ".corrupt");
+            logger.warning("Unreadable LocationJournal[" + file + "] after " + records + " records (" + e.getMessage()
+                    + "); moving it to " + corrupt.getName());
+            try {
+                Files.move(file.toPath(), corrupt.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException moveFailed) {
+                // never overwrite the only copy
+                logger.severe("Unable to move LocationJournal[" + file + "] aside: " + moveFailed.getMessage());
+                return;
+            }
+            torn = true;
+        }
+        if (torn) compact();
+    }
+
+    private void compact() {
+        closeStream();
+        final File temp = new File(file.getParentFile(), file.getName() + ".tmp");
+        try {
+            try (DataOutputStream tempOut = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+                tempOut.writeInt(MAGIC);
+                for (Map.Entry<UUID, byte[]> entry : entries.entrySet()) {
+                    writeRecord(tempOut, entry.getKey(), entry.getValue());
+                }
+            }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to compact LocationJournal[" + file + "]", e);
+        }
+        records = entries.size();
+    }
+
+    private void closeStream() {
+        if (out == null) return;
+        try {
+            out.close();
+        } catch (IOException ignored) {
+        } finally {
+            out = null;
+        }
+    }
+
+    private static void writeRecord(DataOutputStream out, UUID uuid, byte[] encoded) throws IOException {
+        out.writeByte(encoded == null ? REMOVE : PUT);
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+        if (encoded != null) out.write(encoded);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        LocationJournal that = (LocationJournal) o;
+        return file.equals(that.file);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(file);
+    }
+}
@@ -0,0 +1,291 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Matt (ms5984) <https://github.com/ms5984>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.ms5984.survivelist.survivelistevents.util;
+
+import com.github.ms5984.survivelist.survivelistevents.SurvivelistEvents;
+import org.bukkit.Location;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.logging.Logger;
+
+/**
+ * Represents a small binary file of named locations.
+ * <p>
+ * Locations are stored with {@link LocationCodec}; the whole file is
+ * rewritten on save, which supports the same write-behind saving
+ * as {@link DataFile}. Locations are kept encoded, so one whose world
+ * is not loaded is written back unchanged.
+ *
+ * @since 1.1.0
+ */
+@SuppressWarnings("UnusedReturnValue")
+public class LocationStore implements WriteBehind {
+    private static final int MAGIC = 0x534C4C31; // SLL1
+    private final File file;
+    private final DataService dataService;
+    private final ExecutorService executorService;
+    private final Logger logger;
+    // only accessed on executorService
+    private final Map<String, byte[]> locations = new LinkedHashMap<>();
+    private boolean dirty;
+    private volatile boolean closed;
+
+    public LocationStore(String filename) {
+        this(null, filename);
+    }
+    public LocationStore(String directory, String filename) {
+        this(new File(DataFile.resolveDirectory(directory), (filename.endsWith(".dat") ? filename : filename + ".dat")),
+                SurvivelistEvents.getDataService(),
+                JavaPlugin.getProvidingPlugin(LocationStore.class).getLogger());
+    }
+    LocationStore(File file, DataService dataService, Logger logger) {
+        this.file = file;
+        this.dataService = dataService;
+        this.logger = logger;
+        // Get / Set up ExecutorService
+        this.executorService = dataService.getExecutor(this);
+        // Load as the first operation so every later one sees the result
+        executorService.execute(this::load);
+    }
+
+    /**
+     * Get the file backing this store.
+     *
+     * @return the store file
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Get every location in the store, still encoded.
+     * <p>
+     * Decode with {@link LocationCodec#decode(byte[])} on the main
+     * thread once worlds have loaded.
+     * <p>
+     * <b>Performed async. Avoid calling Bukkit API.</b>
+     *
+     * @return a future describing a copy of all named encoded locations
+     */
+    public CompletableFuture<Map<String, byte[]>> getAll() {
+        checkOpen();
+        return CompletableFuture.supplyAsync(() -> {
+            final Map<String, byte[]> copy = new LinkedHashMap<>();
+            locations.forEach((key, encoded) -> copy.put(key, encoded.clone()));
+            return copy;
+        }, executorService);
+    }
+
+    /**
+     * Set or remove a named location.
+     *
+     * @param key name of the location
+     * @param location a location or null to remove
+     * @return Void-return CompletableFuture for andThen-type logic
+     * @throws IllegalArgumentException if the location has no world
+     */
+    public CompletableFuture<Void> set(String key, @Nullable Location location) throws IllegalArgumentException {
+        checkOpen();
+        final byte[] encoded = (location == null) ? null : LocationCodec.encode(location);
+        return CompletableFuture.runAsync(() -> {
+            if (encoded == null) {
+                locations.remove(key);
+            } else {
+                locations.put(key, encoded);
+            }
+        }, executorService);
+    }
+
+    /**
+     * Set or remove a named location and save once the write-behind
+     * window has passed.
+     * <p>
+     * The store is marked as changed by the same operation that
+     * applies the change, so a {@link #close()} made afterwards
+     * always writes it.
+     *
+     * @param key name of the location
+     * @param location a location or null to remove
+     * @return Void-return CompletableFuture for andThen-type logic
+     * @throws IllegalArgumentException if the location has no world
+     * @see DataFile#updateLater(java.util.function.Consumer)
+     */
+    public CompletableFuture<Void> setLater(String key, @Nullable Location location) throws IllegalArgumentException {
+        checkOpen();
+        final byte[] encoded = (location == null) ? null : LocationCodec.encode(location);
+        return CompletableFuture.runAsync(() -> {
+            if (encoded == null) {
+                locations.remove(key);
+            } else {
+                locations.put(key, encoded);
+            }
+            markDirty();
+        }, executorService);
+    }
+
+    /**
+     * Save the store.
+     *
+     * @return Void-return CompletableFuture for andThen-type logic
+     */
+    public CompletableFuture<Void> save() {
+        checkOpen();
+        return CompletableFuture.runAsync(this::saveNow, executorService);
+    }
+
+    /**
+     * Save the store once the write-behind window has passed.
+     *
+     * @see DataFile#saveLater()
+     */
+    public void saveLater() {
+        checkOpen();
+        executorService.execute(this::markDirty);
+    }
+
+    // only called on executorService
+    private void markDirty() {
+        if (dirty) return;
+        dirty = true;
+        // once closed, the pending close() writes it instead
+        if (!closed) dataService.scheduleFlush(this);
+    }
+
+    /**
+     * Save the store now if {@link #saveLater()} has unsaved changes.
+     *
+     * @return Void-return CompletableFuture for andThen-type logic
+     */
+    @Override
+    public CompletableFuture<Void> flush() {
+        return CompletableFuture.runAsync(() -> {
+            if (dirty) saveNow();
+        }, executorService);
+    }
+
+    /**
+     * Close this store, writing unsaved changes and releasing its data.
+     * <p>
+     * Any later operation throws {@link IllegalStateException}.
+     *
+     * @return Void-return CompletableFuture for andThen-type logic
+     * @see DataFile#close()
+     */
+    public CompletableFuture<Void> close() {
+        if (closed) return CompletableFuture.completedFuture(null);
+        closed = true;
+        dataService.evict(this);
+        return CompletableFuture.runAsync(() -> {
+            if (dirty) saveNow();
+            locations.clear();
+        }, executorService);
+    }
+
+    private void checkOpen() {
+        if (closed) throw new IllegalStateException("LocationStore[" + file + "] is closed");
+    }
+
+    private void load() {
+        if (!file.isFile()) return;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC) throw new IOException("Unknown store format");
+            final int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                final String key = in.readUTF();
+                final byte[] encoded = new byte[LocationCodec.ENCODED_LENGTH];
+                in.readFully(encoded);
+                locations.put(key, encoded);
+            }
+        } catch (IOException e) {
+            logger.warning("Unable to read LocationStore[" + file + "]: " + e.getMessage());
+        }
+    }
+
+    private void saveNow() {
+        dirty = false;
+        final File temp = new File(file.getParentFile(), file.getName() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(locations.size());
+                for (Map.Entry<String, byte[]> entry : locations.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.write(entry.getValue());
+                }
+            }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to save LocationStore[" + file + "]", e);
+        }
+    }
+
+    /**
+     * Find every location saved in a yaml section by older versions.
+     * <p>
+     * Keys are full paths relative to the section, so they can be
+     * passed straight to {@link #set(String, Location)}. Locations
+     * without a world cannot be stored and are left out.
+     *
+     * @param section a yaml section
+     * @return every location found, in file order
+     */
+    public static @NotNull Map<String, Location> findLocations(@NotNull ConfigurationSection section) {
+        final Map<String, Location> found = new LinkedHashMap<>();
+        for (String key : section.getKeys(true)) {
+            if (section.get(key) instanceof Location location && location.getWorld() != null) found.put(key, location);
+        }
+        return found;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        LocationStore that = (LocationStore) o;
+        return file.equals(that.file);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(file);
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Matt (ms5984) <https://github.com/ms5984>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.ms5984.survivelist.survivelistevents.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A message pre-parsed into literal text and numbered placeholders
+ * (<code>{0}</code> to <code>{999}</code>).
+ * <p>
+ * Rendering makes a single pass over the parsed segments into a
+ * reused per-thread builder.
+ *
+ * @since 1.1.0
+ */
+public final class MessageTemplate {
+    private static final int MAX_RETAINED_CAPACITY = 4096;
+    private static final ThreadLocal<StringBuilder> BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+    private final String text;
+    private final String[] literals; // always placeholders.length + 1
+    private final int[] placeholders;
+
+    private MessageTemplate(String text, String[] literals, int[] placeholders) {
+        this.text = text;
+        this.literals = literals;
+        this.placeholders = placeholders;
+    }
+
+    /**
+     * Parse text into a template.
+     *
+     * @param text text containing placeholders
+     * @return a new template
+     */
+    public static @NotNull MessageTemplate compile(@NotNull String text) {
+        final List<String> literals = new ArrayList<>();
+        final List<Integer> placeholders = new ArrayList<>();
+        int literalStart = 0;
+        int i = 0;
+        while ((i = text.indexOf('{', i)) != -1) {
+            int end = i + 1;
+            int index = 0;
+            while (end < text.length() && end - i <= 3 && Character.isDigit(text.charAt(end))) {
+                index = index * 10 + (text.charAt(end++) - '0');
+            }
+            if (end == i + 1 || end >= text.length() || text.charAt(end) != '}'
+                    || (text.charAt(i + 1) == '0' && end > i + 2)) {
+                // not a placeholder (or a leading zero, which {i} never has); keep as literal text
+                i++;
+                continue;
+            }
+            literals.add(text.substring(literalStart, i));
+            placeholders.add(index);
+            literalStart = i = end + 1;
+        }
+        literals.add(text.substring(literalStart));
+        final int[] indexes = new int[placeholders.size()];
+        for (int j = 0; j < indexes.length; j++) {
+            indexes[j] = placeholders.get(j);
+        }
+        return new MessageTemplate(text, literals.toArray(new String[0]), indexes);
+    }
+
+    /**
+     * Get the number of placeholders in this template.
+     *
+     * @return the number of placeholders
+     */
+    public int getPlaceholderCount() {
+        return placeholders.length;
+    }
+
+    /**
+     * Render this template.
+     * <p>
+     * Placeholder <code>{i}</code> is replaced with
+     * <code>String.valueOf(replacements[i])</code>; placeholders
+     * without a matching replacement are left as they are.
+     *
+     * @param replacements replacement values by index
+     * @return the rendered text
+     */
+    public @NotNull String render(Object... replacements) {
+        if (placeholders.length == 0) return text;
+        StringBuilder sb = BUILDER.get();
+        if (sb.capacity() > MAX_RETAINED_CAPACITY) {
+            sb = new StringBuilder(256);
+            BUILDER.set(sb);
+        }
+        sb.setLength(0);
+        sb.append(literals[0]);
+        for (int i = 0; i < placeholders.length; i++) {
+            final int index = placeholders[i];
+            if (index < replacements.length) {
+                sb.append(replacements[index]);
+            } else {
+                sb.append('{').append(index).append('}');
+            }
+            sb.append(literals[i + 1]);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Get the template text with placeholders unrendered.
+     *
+     * @return the original text
+     */
+    @Override
+    public String toString() {
+        return text;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Matt (ms5984) <https://github.com/ms5984>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.ms5984.survivelist.survivelistevents.util;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedSet;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Immutable sorted set of strings supporting prefix lookups.
+ * <p>
+ * All strings sharing a prefix are adjacent once sorted, so a lookup
+ * is two binary searches and returns a view without copying.
+ *
+ * @since 1.1.0
+ */
+public final class PrefixIndex {
+    private static final PrefixIndex EMPTY = new PrefixIndex(ImmutableList.of());
+    private final ImmutableList<String> sorted;
+
+    private PrefixIndex(ImmutableList<String> sorted) {
+        this.sorted = sorted;
+    }
+
+    /**
+     * Build an index of the given strings.
+     *
+     * @param strings the strings to index
+     * @return a new index
+     */
+    public static @NotNull PrefixIndex of(@NotNull Iterable<String> strings) {
+        final ImmutableList<String> sorted = ImmutableSortedSet.copyOf(strings).asList();
+        return sorted.isEmpty() ? EMPTY : new PrefixIndex(sorted);
+    }
+
+    /**
+     * Get an empty index.
+     *
+     * @return an empty index
+     */
+    public static @NotNull PrefixIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Get all strings starting with a prefix (case-sensitive), in sorted order.
+     *
+     * @param prefix the prefix to match
+     * @return an immutable view of the matching strings
+     */
+    public @NotNull ImmutableList<String> startingWith(@NotNull String prefix) {
+        if (prefix.isEmpty()) return sorted;
+        // first string not less than the prefix
+        int low = 0;
+        int high = sorted.size();
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (sorted.get(mid).compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        final int from = low;
+        // first string from there that no longer starts with the prefix
+        high = sorted.size();
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (sorted.get(mid).startsWith(prefix)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return sorted.subList(from, low);
+    }
+
+    /**
+     * Get all indexed strings in sorted order.
+     *
+     * @return an immutable list of all strings
+     */
+    public @NotNull ImmutableList<String> getAll() {
+        return sorted;
+    }
+
+    public boolean isEmpty() {
+        return sorted.isEmpty();
+    }
+}
@@ -23,34 +23,78 @@
  */
 package com.github.ms5984.survivelist.survivelistevents.util;
 
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import net.md_5.bungee.api.ChatColor;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 /**
  * Process color coded text into proper formatted text.
  *
  * @since 1.0.0
  */
 public final class TextLibrary {
-    private static final Pattern HEX_PATTERN = Pattern.compile("&(#(\\d|[A-F]|[a-f]){6})");
+    /**
+     * Converts between components and translated legacy text.
+     * <p>
+     * Understands the <code>&sect;x&sect;R&sect;R&sect;G&sect;G&sect;B&sect;B</code>
+     * hex form produced by {@link #translate(String)}.
+     *
+     * @since 1.1.0
+     */
+    public static final LegacyComponentSerializer LEGACY = LegacyComponentSerializer.builder()
+            .character(ChatColor.COLOR_CHAR)
+            .hexColors()
+            .useUnusualXRepeatedCharacterHexFormat()
+            .build();
+    private static final String COLOR_CODES = "0123456789AaBbCcDdEeFfKkLlMmNnOoRrXx";
 
     // utility class
     private TextLibrary() {
     }
 
+    /**
+     * Translate <code>&amp;</code> color codes and <code>&amp;#RRGGBB</code>
+     * hex colors in a single pass.
+     *
+     * @param text text to translate
+     * @return the translated text, or "null" if text is null
+     */
     public static String translate(String text) {
         if (text == null) return "null";
-        if (HEX_PATTERN.matcher(text).find()) {
-            final Matcher matcher = HEX_PATTERN.matcher(text);
-            final StringBuffer sb = new StringBuffer();
-            while (matcher.find()) {
-                matcher.appendReplacement(sb, ChatColor.of(matcher.group(1)).toString());
+        final int length = text.length();
+        int i = text.indexOf('&');
+        if (i == -1) return text;
+        final StringBuilder sb = new StringBuilder(length + 16);
+        sb.append(text, 0, i);
+        for (; i < length; i++) {
+            final char c = text.charAt(i);
+            if (c != '&' || i + 1 == length) {
+                sb.append(c);
+                continue;
+            }
+            final char next = text.charAt(i + 1);
+            if (next == '#' && isHex(text, i + 2)) {
+                // &#RRGGBB -> §x§R§R§G§G§B§B
+                sb.append(ChatColor.COLOR_CHAR).append('x');
+                for (int h = i + 2; h < i + 8; h++) {
+                    sb.append(ChatColor.COLOR_CHAR).append(text.charAt(h));
+                }
+                i += 7;
+            } else if (COLOR_CODES.indexOf(next) != -1) {
+                sb.append(ChatColor.COLOR_CHAR).append(Character.toLowerCase(next));
+                i++;
+            } else {
+                sb.append(c);
             }
-            matcher.appendTail(sb);
-            text = sb.toString();
         }
-        return ChatColor.translateAlternateColorCodes('&', text);
+        return sb.toString();
+    }
+
+    private static boolean isHex(String text, int start) {
+        if (start + 6 > text.length()) return false;
+        for (int i = start; i < start + 6; i++) {
+            final char c = text.charAt(i);
+            if (!((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F'))) return false;
+        }
+        return true;
     }
 }
@@ -0,0 +1,226 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Matt (ms5984) <https://github.com/ms5984>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.ms5984.survivelist.survivelistevents.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParticipantIndexTest {
+    private static final int INITIAL_CAPACITY = 16;
+    private static long nextKey;
+
+    /**
+     * Create a new key whose probe sequence starts at the given slot.
+     */
+    static UUID keyWithHome(int home, int capacity) {
+        long mix = 0;
+        while ((ParticipantIndex.hash(0, mix) & (capacity - 1)) != home) mix++;
+        final long msb = ++nextKey;
+        return new UUID(msb, msb ^ mix);
+    }
+
+    private static void assertTeams(ParticipantIndex index, Map<UUID, Integer> expected) {
+        assertEquals(expected.size(), index.size());
+        expected.forEach((uid, team) -> assertEquals(team, index.teamOf(uid), uid::toString));
+    }
+
+    @Test
+    void removeInsideProbeChain() {
+        final ParticipantIndex index = new ParticipantIndex();
+        final Map<UUID, Integer> expected = new LinkedHashMap<>();
+        // four keys sharing slot 3 occupy 3..6, the key homed at 4 lands at 7
+        final List<UUID> chain = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            final UUID uid = keyWithHome(3, INITIAL_CAPACITY);
+            chain.add(uid);
+            index.put(uid, i);
+            expected.put(uid, i);
+        }
+        final UUID displaced = keyWithHome(4, INITIAL_CAPACITY);
+        index.put(displaced, 9);
+        expected.put(displaced, 9);
+        final UUID unrelated = keyWithHome(10, INITIAL_CAPACITY);
+        index.put(unrelated, ParticipantIndex.NO_TEAM);
+        expected.put(unrelated, ParticipantIndex.NO_TEAM);
+        assertTeams(index, expected);
+
+        index.remove(chain.get(1));
+        expected.remove(chain.get(1));
+        assertEquals(ParticipantIndex.ABSENT, index.teamOf(chain.get(1)));
+        assertTeams(index, expected);
+
+        index.remove(chain.get(0));
+        expected.remove(chain.get(0));
+        assertTeams(index, expected);
+
+        index.remove(displaced);
+        expected.remove(displaced);
+        assertTeams(index, expected);
+
+        // freed slots are reusable
+        index.put(chain.get(1), 5);
+        expected.put(chain.get(1), 5);
+        assertTeams(index, expected);
+    }
+
+    @Test
+    void removeAbsentIsNoOp() {
+        final ParticipantIndex index = new ParticipantIndex();
+        final UUID present = keyWithHome(2, INITIAL_CAPACITY);
+        index.put(present, 1);
+        index.remove(keyWithHome(2, INITIAL_CAPACITY));
+        assertEquals(1, index.size());
+        assertEquals(1, index.teamOf(present));
+    }
+
+    @Test
+    void wraparound() {
+        final ParticipantIndex index = new ParticipantIndex();
+        final Map<UUID, Integer> expected = new LinkedHashMap<>();
+        // three keys homed at the last slot wrap to 0 and 1; the key homed at 0 lands at 2
+        final List<UUID> tail = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            final UUID uid = keyWithHome(INITIAL_CAPACITY - 1, INITIAL_CAPACITY);
+            tail.add(uid);
+            index.put(uid, i);
+            expected.put(uid, i);
+        }
+        final UUID first = keyWithHome(0, INITIAL_CAPACITY);
+        index.put(first, 7);
+        expected.put(first, 7);
+        assertTeams(index, expected);
+
+        // removing the entry in the last slot shifts wrapped entries back across the end
+        index.remove(tail.get(0));
+        expected.remove(tail.get(0));
+        assertTeams(index, expected);
+
+        index.remove(tail.get(1));
+        expected.remove(tail.get(1));
+        assertTeams(index, expected);
+
+        index.put(tail.get(0), 4);
+        expected.put(tail.get(0), 4);
+        assertTeams(index, expected);
+    }
+
+    @Test
+    void growth() {
+        final ParticipantIndex index = new ParticipantIndex();
+        final Map<UUID, Integer> expected = new LinkedHashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            // a handful of homes keeps long chains alive across rehashes
+            final UUID uid = keyWithHome(i % 4, INITIAL_CAPACITY);
+            index.put(uid, i % 5 - 1);
+            expected.put(uid, i % 5 - 1);
+            if (i % 97 == 0) assertTeams(index, expected);
+        }
+        assertTeams(index, expected);
+        final Iterator<UUID> it = expected.keySet().iterator();
+        while (it.hasNext()) {
+            final UUID uid = it.next();
+            if (uid.getMostSignificantBits() % 2 == 0) {
+                index.remove(uid);
+                it.remove();
+            }
+        }
+        assertTeams(index, expected);
+        index.clear();
+        assertEquals(0, index.size());
+        expected.keySet().forEach(uid -> assertEquals(ParticipantIndex.ABSENT, index.teamOf(uid)));
+    }
+
+    @Test
+    void matchesHashMapUnderRandomOperations() {
+        final Random random = new Random(23);
+        final List<UUID> keys = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            keys.add(keyWithHome(random.nextInt(INITIAL_CAPACITY), INITIAL_CAPACITY));
+        }
+        final ParticipantIndex index = new ParticipantIndex();
+        final Map<UUID, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            final UUID uid = keys.get(random.nextInt(keys.size()));
+            if (random.nextInt(3) == 0) {
+                index.remove(uid);
+                expected.remove(uid);
+            } else {
+                final int team = random.nextInt(4) - 1;
+                index.put(uid, team);
+                expected.put(uid, team);
+            }
+            assertEquals(expected.size(), index.size());
+            assertEquals(expected.getOrDefault(uid, ParticipantIndex.ABSENT), index.teamOf(uid));
+        }
+        for (UUID uid : keys) {
+            assertEquals(expected.getOrDefault(uid, ParticipantIndex.ABSENT), index.teamOf(uid));
+        }
+    }
+
+    @Test
+    void remapTeams() {
+        final ParticipantIndex index = new ParticipantIndex();
+        final Map<UUID, Integer> expected = new LinkedHashMap<>();
+        for (int i = 0; i < 40; i++) {
+            final UUID uid = keyWithHome(i % 3, INITIAL_CAPACITY);
+            index.put(uid, i % 4 - 1);
+            expected.put(uid, i % 4 - 1);
+        }
+        final int[] calls = new int[1];
+        // swap teams 0 and 1, drop team 2, keep NO_TEAM
+        index.remapTeams(old -> {
+            calls[0]++;
+            switch (old) {
+                case 0: return 1;
+                case 1: return 0;
+                case 2: return ParticipantIndex.NO_TEAM;
+                default: return old;
+            }
+        });
+        assertEquals(expected.size(), calls[0]);
+        expected.replaceAll((uid, old) -> old == 0 ? 1 : old == 1 ? 0 : ParticipantIndex.NO_TEAM);
+        assertTeams(index, expected);
+    }
+
+    @Test
+    void sameTeam() {
+        final ParticipantIndex index = new ParticipantIndex();
+        final UUID a = keyWithHome(1, INITIAL_CAPACITY);
+        final UUID b = keyWithHome(1, INITIAL_CAPACITY);
+        final UUID c = keyWithHome(1, INITIAL_CAPACITY);
+        final UUID d = keyWithHome(1, INITIAL_CAPACITY);
+        index.put(a, 0);
+        index.put(b, 0);
+        index.put(c, ParticipantIndex.NO_TEAM);
+        index.put(d, ParticipantIndex.NO_TEAM);
+        assertTrue(index.sameTeam(a, b));
+        assertFalse(index.sameTeam(a, c));
+        // no team is not a shared team
+        assertFalse(index.sameTeam(c, d));
+        assertFalse(index.sameTeam(a, keyWithHome(1, INITIAL_CAPACITY)));
+    }
+}
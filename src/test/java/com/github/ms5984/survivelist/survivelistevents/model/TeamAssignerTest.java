@@ -0,0 +1,197 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Matt (ms5984) <https://github.com/ms5984>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.ms5984.survivelist.survivelistevents.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TeamAssignerTest {
+    private static List<UUID> join(ParticipantIndex index, int count) {
+        final List<UUID> players = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final UUID uid = UUID.randomUUID();
+            index.put(uid, ParticipantIndex.NO_TEAM);
+            players.add(uid);
+        }
+        return players;
+    }
+
+    private static Map<String, Integer> counts(TeamAssigner assigner, Collection<String> teams, Collection<UUID> players) {
+        final Map<String, Integer> counts = new HashMap<>();
+        teams.forEach(team -> counts.put(team, 0));
+        for (UUID uid : players) {
+            final String team = assigner.getTeam(uid);
+            if (team != null) counts.merge(team, 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    /**
+     * Assign a player and check the chosen team was one of the least loaded.
+     */
+    private static String assignToMin(TeamAssigner assigner, Collection<String> teams, Collection<UUID> players, UUID uid) {
+        final Map<String, Integer> before = counts(assigner, teams, players);
+        final int min = Collections.min(before.values());
+        final String team = assigner.assign(uid);
+        assertNotNull(team);
+        assertEquals(min, before.get(team), () -> team + " was not least loaded in " + before);
+        return team;
+    }
+
+    @Test
+    void assignBalances() {
+        final List<String> teams = Arrays.asList("red", "green", "blue");
+        final ParticipantIndex index = new ParticipantIndex();
+        final TeamAssigner assigner = new TeamAssigner(teams, index, null);
+        final List<UUID> players = join(index, 20);
+        for (UUID uid : players) {
+            assignToMin(assigner, teams, players, uid);
+        }
+        final Map<String, Integer> counts = counts(assigner, teams, players);
+        assertTrue(Collections.max(counts.values()) - Collections.min(counts.values()) <= 1, counts::toString);
+    }
+
+    @Test
+    void assignIsStable() {
+        final List<String> teams = Arrays.asList("red", "blue");
+        final ParticipantIndex index = new ParticipantIndex();
+        final TeamAssigner assigner = new TeamAssigner(teams, index, null);
+        final List<UUID> players = join(index, 3);
+        final String team = assigner.assign(players.get(0));
+        assertEquals(team, assigner.assign(players.get(0)));
+        assertEquals(team, assigner.getTeam(players.get(0)));
+        // the repeat did not count twice
+        assertNotEquals(team, assigner.assign(players.get(1)));
+    }
+
+    @Test
+    void assignNonParticipantOrWithoutTeams() {
+        final ParticipantIndex index = new ParticipantIndex();
+        final TeamAssigner assigner = new TeamAssigner(Arrays.asList("red", "blue"), index, null);
+        final UUID outsider = UUID.randomUUID();
+        assertNull(assigner.assign(outsider));
+        assertEquals(ParticipantIndex.ABSENT, index.teamOf(outsider));
+
+        final ParticipantIndex noTeamsIndex = new ParticipantIndex();
+        final TeamAssigner noTeams = new TeamAssigner(Collections.emptyList(), noTeamsIndex, null);
+        final UUID uid = join(noTeamsIndex, 1).get(0);
+        assertNull(noTeams.assign(uid));
+        assertEquals(ParticipantIndex.NO_TEAM, noTeamsIndex.teamOf(uid));
+    }
+
+    @Test
+    void unassignLowersMin() {
+        final List<String> teams = Arrays.asList("red", "blue", "green");
+        final ParticipantIndex index = new ParticipantIndex();
+        final TeamAssigner assigner = new TeamAssigner(teams, index, null);
+        final List<UUID> players = join(index, 12);
+        players.forEach(assigner::assign);
+
+        // drop two players from one team so it falls two below the rest
+        final String emptied = assigner.getTeam(players.get(0));
+        final List<UUID> released = new ArrayList<>();
+        for (UUID uid : players) {
+            if (released.size() < 2 && emptied.equals(assigner.getTeam(uid))) {
+                assigner.unassign(uid);
+                released.add(uid);
+            }
+        }
+        assertNull(assigner.getTeam(released.get(0)));
+        assertEquals(ParticipantIndex.NO_TEAM, index.teamOf(released.get(0)));
+        assertEquals(2, counts(assigner, teams, players).get(emptied));
+
+        // unassigning again is a no-op
+        assigner.unassign(released.get(0));
+        assertEquals(2, counts(assigner, teams, players).get(emptied));
+
+        for (UUID uid : released) {
+            assertEquals(emptied, assignToMin(assigner, teams, players, uid));
+        }
+        final List<UUID> more = join(index, 6);
+        players.addAll(more);
+        more.forEach(uid -> assignToMin(assigner, teams, players, uid));
+        assertEquals(Collections.singleton(6), new HashSet<>(counts(assigner, teams, players).values()));
+    }
+
+    @Test
+    void assignGrowsBuckets() {
+        final List<String> teams = Collections.singletonList("solo");
+        final ParticipantIndex index = new ParticipantIndex();
+        final TeamAssigner assigner = new TeamAssigner(teams, index, null);
+        final List<UUID> players = join(index, 40);
+        players.forEach(uid -> assertEquals("solo", assigner.assign(uid)));
+        for (int i = 0; i < 30; i++) assigner.unassign(players.get(i));
+
+        final List<String> pair = Arrays.asList("solo", "duo");
+        final TeamAssigner rebuilt = new TeamAssigner(pair, index, assigner);
+        for (int i = 0; i < 10; i++) {
+            assertEquals("duo", assignToMin(rebuilt, pair, players, players.get(i)));
+        }
+        for (int i = 10; i < 30; i++) assignToMin(rebuilt, pair, players, players.get(i));
+        assertEquals(20, counts(rebuilt, pair, players).get("solo"));
+        assertEquals(20, counts(rebuilt, pair, players).get("duo"));
+    }
+
+    @Test
+    void rebuildCarriesCounts() {
+        final List<String> teams = Arrays.asList("red", "blue", "green");
+        final ParticipantIndex index = new ParticipantIndex();
+        final TeamAssigner previous = new TeamAssigner(teams, index, null);
+        final List<UUID> players = join(index, 9);
+        final Map<UUID, String> before = new HashMap<>();
+        for (UUID uid : players) before.put(uid, previous.assign(uid));
+
+        final List<String> renamed = Arrays.asList("red", "blue", "yellow");
+        final TeamAssigner rebuilt = new TeamAssigner(renamed, index, previous);
+        final List<UUID> dropped = new ArrayList<>();
+        for (UUID uid : players) {
+            if (before.get(uid).equals("green")) {
+                assertNull(rebuilt.getTeam(uid));
+                assertEquals(ParticipantIndex.NO_TEAM, index.teamOf(uid));
+                dropped.add(uid);
+            } else {
+                assertEquals(before.get(uid), rebuilt.getTeam(uid));
+            }
+        }
+        assertEquals(3, dropped.size());
+
+        // the new team starts empty and fills first
+        for (UUID uid : dropped) {
+            assertEquals("yellow", assignToMin(rebuilt, renamed, players, uid));
+        }
+        final List<UUID> more = join(index, 3);
+        players.addAll(more);
+        final Set<String> chosen = new HashSet<>();
+        more.forEach(uid -> chosen.add(assignToMin(rebuilt, renamed, players, uid)));
+        assertEquals(new HashSet<>(renamed), chosen);
+
+        // the old assigner's counts do not leak into the rebuilt one
+        final UUID redPlayer = players.stream().filter(uid -> "red".equals(rebuilt.getTeam(uid))).findFirst().orElseThrow(AssertionError::new);
+        rebuilt.unassign(redPlayer);
+        assertEquals("red", assignToMin(rebuilt, renamed, players, redPlayer));
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Matt (ms5984) <https://github.com/ms5984>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.ms5984.survivelist.survivelistevents.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DataServiceTest {
+    private final DataService dataService = new DataService(1, 4, 0L);
+    private final ExecutorService executor = dataService.getExecutor(this);
+
+    @AfterEach
+    void shutdown() {
+        dataService.shutdown(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void fullQueueKeepsOrderWithoutBlocking() throws InterruptedException {
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<Integer> order = new ArrayList<>(); // only touched on the stripe
+        executor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        // the stripe is blocked, so all but four of these overflow; none may block this thread
+        for (int i = 0; i < 100; i++) {
+            final int index = i;
+            executor.execute(() -> order.add(index));
+        }
+        assertEquals(100, dataService.getQueuedTasks());
+        assertTrue(dataService.getSaturatedSubmissions() >= 96);
+        release.countDown();
+        assertTrue(dataService.shutdown(5, TimeUnit.SECONDS));
+        assertEquals(100, order.size());
+        for (int i = 0; i < 100; i++) assertEquals(i, order.get(i));
+    }
+
+    @Test
+    void stripeSubmittingToItselfRunsAfterQueuedWork() throws InterruptedException {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch submitted = new CountDownLatch(1);
+        final List<String> order = new ArrayList<>(); // only touched on the stripe
+        executor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            // the queue is full behind this task; these must not run inline
+            for (int i = 0; i < 10; i++) {
+                final int index = i;
+                executor.execute(() -> order.add("inner-" + index));
+            }
+            order.add("outer");
+            submitted.countDown();
+        });
+        for (int i = 0; i < 10; i++) {
+            final int index = i;
+            executor.execute(() -> order.add("queued-" + index));
+        }
+        release.countDown();
+        // shutting down earlier would reject the inner submissions
+        assertTrue(submitted.await(5, TimeUnit.SECONDS));
+        assertTrue(dataService.shutdown(5, TimeUnit.SECONDS));
+        final List<String> expected = new ArrayList<>();
+        expected.add("outer");
+        for (int i = 0; i < 10; i++) expected.add("queued-" + i);
+        for (int i = 0; i < 10; i++) expected.add("inner-" + i);
+        assertEquals(expected, order);
+    }
+
+    @Test
+    void rejectsAfterShutdown() {
+        assertTrue(dataService.shutdown(5, TimeUnit.SECONDS));
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> {}));
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Matt (ms5984) <https://github.com/ms5984>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.ms5984.survivelist.survivelistevents.util;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LocationCodecTest {
+    private final World world = TestWorlds.load("world");
+
+    @Test
+    void roundTrip() {
+        final Location location = new Location(world, 12.5, -63.0, 1e7 + 0.125, 181.5f, -90f);
+        final byte[] encoded = LocationCodec.encode(location);
+        assertEquals(LocationCodec.ENCODED_LENGTH, encoded.length);
+        final Location decoded = LocationCodec.decode(encoded);
+        assertSame(world, decoded.getWorld());
+        assertEquals(location, decoded);
+    }
+
+    @Test
+    void encodingIsStable() {
+        final Location location = new Location(world, -0.0, Double.MIN_VALUE, Double.MAX_VALUE, -0.0f, Float.NaN);
+        final byte[] encoded = LocationCodec.encode(location);
+        assertArrayEquals(encoded, LocationCodec.encode(LocationCodec.decode(encoded)));
+    }
+
+    @Test
+    void rejectsBadLengths() {
+        for (int length : new int[]{0, 1, LocationCodec.ENCODED_LENGTH - 1, LocationCodec.ENCODED_LENGTH + 1}) {
+            assertThrows(IllegalArgumentException.class, () -> LocationCodec.decode(new byte[length]));
+            assertThrows(IllegalArgumentException.class, () -> LocationCodec.getWorldId(new byte[length]));
+        }
+    }
+
+    @Test
+    void rejectsLocationWithoutWorld() {
+        assertThrows(IllegalArgumentException.class, () -> LocationCodec.encode(new Location(null, 1, 2, 3)));
+    }
+
+    @Test
+    void keepsWorldIdOfUnloadedWorld() {
+        final World later = TestWorlds.load("later");
+        final byte[] encoded = LocationCodec.encode(new Location(later, 1, 2, 3));
+        TestWorlds.unload(later);
+        try {
+            assertNull(LocationCodec.decode(encoded).getWorld());
+            assertEquals(later.getUID(), LocationCodec.getWorldId(encoded));
+        } finally {
+            TestWorlds.reload(later);
+        }
+        assertSame(later, LocationCodec.decode(encoded).getWorld());
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Matt (ms5984) <https://github.com/ms5984>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.ms5984.survivelist.survivelistevents.util;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocationJournalTest {
+    private static final int HEADER = Integer.BYTES;
+    private static final int PUT_RECORD = 1 + 2 * Long.BYTES + LocationCodec.ENCODED_LENGTH;
+    private final DataService dataService = new DataService(1, 64, 0L);
+    private final World world = TestWorlds.load("world");
+    @TempDir
+    Path folder;
+
+    @AfterEach
+    void shutdown() {
+        dataService.shutdown(5, TimeUnit.SECONDS);
+    }
+
+    private File file() {
+        return new File(folder.toFile(), "original-locations.journal");
+    }
+
+    private LocationJournal open() {
+        return new LocationJournal(file(), dataService, Logger.getLogger("LocationJournalTest"));
+    }
+
+    @Test
+    void replaysPutsAndRemoves() {
+        final UUID kept = UUID.randomUUID();
+        final UUID moved = UUID.randomUUID();
+        final UUID removed = UUID.randomUUID();
+        final LocationJournal journal = open();
+        journal.put(kept, new Location(world, 1, 2, 3));
+        journal.put(moved, new Location(world, 4, 5, 6));
+        journal.put(removed, new Location(world, 7, 8, 9));
+        journal.put(moved, new Location(world, 10, 11, 12, 13, 14));
+        journal.remove(removed);
+        journal.close().join();
+        final Map<UUID, byte[]> replayed = open().getAll().join();
+        assertEquals(2, replayed.size());
+        assertEquals(new Location(world, 1, 2, 3), LocationCodec.decode(replayed.get(kept)));
+        assertEquals(new Location(world, 10, 11, 12, 13, 14), LocationCodec.decode(replayed.get(moved)));
+        assertNull(replayed.get(removed));
+    }
+
+    @Test
+    void keepsCompleteRecordsWhenLastIsCutOff() throws Exception {
+        final UUID first = UUID.randomUUID();
+        final UUID second = UUID.randomUUID();
+        final UUID torn = UUID.randomUUID();
+        final LocationJournal journal = open();
+        journal.put(first, new Location(world, 1, 2, 3));
+        journal.put(second, new Location(world, 4, 5, 6));
+        journal.put(torn, new Location(world, 7, 8, 9));
+        journal.close().join();
+        assertEquals(HEADER + 3 * PUT_RECORD, file().length());
+        // simulate a crash part way through writing the last record
+        try (RandomAccessFile raf = new RandomAccessFile(file(), "rw")) {
+            raf.setLength(HEADER + 2 * PUT_RECORD + 20);
+        }
+        final LocationJournal replayed = open();
+        final Map<UUID, byte[]> entries = replayed.getAll().join();
+        assertEquals(2, entries.size());
+        assertEquals(new Location(world, 1, 2, 3), LocationCodec.decode(entries.get(first)));
+        assertEquals(new Location(world, 4, 5, 6), LocationCodec.decode(entries.get(second)));
+        // the torn tail is compacted away so later appends stay readable
+        assertEquals(HEADER + 2 * PUT_RECORD, file().length());
+        replayed.put(torn, new Location(world, 0, 0, 0));
+        replayed.close().join();
+        assertEquals(3, open().getAll().join().size());
+    }
+
+    @Test
+    void keepsRecordsBeforeAnUnknownRecordType() throws Exception {
+        final UUID first = UUID.randomUUID();
+        final UUID second = UUID.randomUUID();
+        final LocationJournal journal = open();
+        journal.put(first, new Location(world, 1, 2, 3));
+        journal.put(second, new Location(world, 4, 5, 6));
+        journal.put(UUID.randomUUID(), new Location(world, 7, 8, 9));
+        journal.close().join();
+        final long length = file().length();
+        // corrupt the type of the third record
+        try (RandomAccessFile raf = new RandomAccessFile(file(), "rw")) {
+            raf.seek(HEADER + 2 * PUT_RECORD);
+            raf.writeByte(42);
+        }
+        final Map<UUID, byte[]> entries = open().getAll().join();
+        assertEquals(2, entries.size());
+        assertEquals(new Location(world, 1, 2, 3), LocationCodec.decode(entries.get(first)));
+        assertEquals(new Location(world, 4, 5, 6), LocationCodec.decode(entries.get(second)));
+        // the unreadable file is moved aside untouched
+        final File corrupt = new File(folder.toFile(), "original-locations.journal.corrupt");
+        assertTrue(corrupt.isFile());
+        assertEquals(length, corrupt.length());
+        assertEquals(HEADER + 2 * PUT_RECORD, file().length());
+    }
+
+    @Test
+    void movesAsideJournalWithUnknownFormat() throws Exception {
+        final LocationJournal journal = open();
+        journal.put(UUID.randomUUID(), new Location(world, 1, 2, 3));
+        journal.close().join();
+        final long length = file().length();
+        try (RandomAccessFile raf = new RandomAccessFile(file(), "rw")) {
+            raf.writeInt(0);
+        }
+        assertTrue(open().getAll().join().isEmpty());
+        final File corrupt = new File(folder.toFile(), "original-locations.journal.corrupt");
+        assertEquals(length, corrupt.length());
+        assertEquals(HEADER, file().length());
+    }
+
+    @Test
+    void compactsSupersededRecords() {
+        final UUID uuid = UUID.randomUUID();
+        final LocationJournal journal = open();
+        for (int i = 0; i < 1000; i++) {
+            journal.put(uuid, new Location(world, i, i, i));
+        }
+        journal.close().join();
+        assertTrue(file().length() < HEADER + 256 * PUT_RECORD, "journal was not compacted");
+        assertEquals(new Location(world, 999, 999, 999), LocationCodec.decode(open().get(uuid).join()));
+    }
+
+    @Test
+    void compactionKeepsLocationsInUnloadedWorlds() {
+        final World later = TestWorlds.load("later");
+        final UUID waiting = UUID.randomUUID();
+        final Location unresolved = new Location(later, 1, 2, 3);
+        final LocationJournal first = open();
+        first.put(waiting, unresolved);
+        first.close().join();
+        TestWorlds.unload(later);
+        try {
+            final UUID other = UUID.randomUUID();
+            final LocationJournal second = open();
+            for (int i = 0; i < 300; i++) {
+                second.put(other, new Location(world, i, i, i));
+            }
+            second.close().join();
+        } finally {
+            TestWorlds.reload(later);
+        }
+        final byte[] replayed = open().get(waiting).join();
+        assertArrayEquals(LocationCodec.encode(unresolved), replayed);
+        assertEquals(unresolved, LocationCodec.decode(replayed));
+    }
+
+    @Test
+    void clearDeletesFile() {
+        final LocationJournal journal = open();
+        journal.put(UUID.randomUUID(), new Location(world, 1, 2, 3));
+        journal.clear().join();
+        assertFalse(file().exists());
+        assertTrue(journal.getAll().join().isEmpty());
+    }
+
+    @Test
+    void rejectsLocationWithoutWorld() {
+        assertThrows(IllegalArgumentException.class, () -> open().put(UUID.randomUUID(), new Location(null, 1, 2, 3)));
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Matt (ms5984) <https://github.com/ms5984>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.ms5984.survivelist.survivelistevents.util;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocationStoreTest {
+    private final DataService dataService = new DataService(1, 64, 0L);
+    private final World world = TestWorlds.load("world");
+    @TempDir
+    Path folder;
+
+    @AfterEach
+    void shutdown() {
+        dataService.shutdown(5, TimeUnit.SECONDS);
+    }
+
+    private LocationStore open() {
+        return new LocationStore(new File(folder.toFile(), "event-locations.dat"), dataService, Logger.getLogger("LocationStoreTest"));
+    }
+
+    @Test
+    void roundTrip() {
+        final Location location = new Location(world, 1, 2, 3, 4, 5);
+        final Location team = new Location(world, -6, 7, -8);
+        final LocationStore store = open();
+        store.set("location", location);
+        store.set("teams.red", team);
+        store.save().join();
+        store.close().join();
+        final Map<String, byte[]> loaded = open().getAll().join();
+        assertEquals(List.of("location", "teams.red"), List.copyOf(loaded.keySet()));
+        assertEquals(location, LocationCodec.decode(loaded.get("location")));
+        assertEquals(team, LocationCodec.decode(loaded.get("teams.red")));
+    }
+
+    @Test
+    void removeThenSave() {
+        final LocationStore store = open();
+        store.set("location", new Location(world, 1, 2, 3));
+        store.set("location", null);
+        store.save().join();
+        assertTrue(open().getAll().join().isEmpty());
+    }
+
+    @Test
+    void closeWritesChangeStillQueued() {
+        final DataService slowFlush = new DataService(1, 64, TimeUnit.MINUTES.toMillis(1));
+        try {
+            final File file = new File(folder.toFile(), "queued.dat");
+            final LocationStore store = new LocationStore(file, slowFlush, Logger.getLogger("LocationStoreTest"));
+            store.setLater("location", new Location(world, 1, 2, 3));
+            // close before the write-behind window has passed
+            store.close().join();
+            final byte[] written = new LocationStore(file, dataService, Logger.getLogger("LocationStoreTest")).getAll().join().get("location");
+            assertEquals(new Location(world, 1, 2, 3), LocationCodec.decode(written));
+        } finally {
+            slowFlush.shutdown(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void rejectsLocationWithoutWorld() {
+        assertThrows(IllegalArgumentException.class, () -> open().set("location", new Location(null, 1, 2, 3)));
+    }
+
+    @Test
+    void keepsLocationsInUnloadedWorlds() {
+        final World later = TestWorlds.load("later");
+        final Location unresolved = new Location(later, 9, 8, 7);
+        final LocationStore first = open();
+        first.set("teams.blue", unresolved);
+        first.save().join();
+        first.close().join();
+        final byte[] original = LocationCodec.encode(unresolved);
+        TestWorlds.unload(later);
+        try {
+            // the world has not loaded yet when the store is opened and rewritten
+            final LocationStore second = open();
+            assertNull(LocationCodec.decode(second.getAll().join().get("teams.blue")).getWorld());
+            second.set("location", new Location(world, 1, 2, 3));
+            second.save().join();
+            second.close().join();
+        } finally {
+            TestWorlds.reload(later);
+        }
+        final Map<String, byte[]> loaded = open().getAll().join();
+        assertArrayEquals(original, loaded.get("teams.blue"));
+        assertEquals(unresolved, LocationCodec.decode(loaded.get("teams.blue")));
+    }
+
+    @Test
+    void migratesYamlLocations() throws Exception {
+        final YamlConfiguration legacy = new YamlConfiguration();
+        legacy.loadFromString(String.join("\n",
+                "status: active",
+                "location:",
+                "  ==: org.bukkit.Location",
+                "  world: world",
+                "  x: 1.5",
+                "  y: 64.0",
+                "  z: -3.25",
+                "  pitch: 10.0",
+                "  yaw: 90.0",
+                "teams:",
+                "  red:",
+                "    ==: org.bukkit.Location",
+                "    x: 0.0",
+                "    y: 0.0",
+                "    z: 0.0",
+                "    pitch: 0.0",
+                "    yaw: 0.0",
+                "  blue:",
+                "    ==: org.bukkit.Location",
+                "    world: world",
+                "    x: -10.0",
+                "    y: 70.0",
+                "    z: 20.0",
+                "    pitch: 0.0",
+                "    yaw: 180.0",
+                ""));
+        final Map<String, Location> found = LocationStore.findLocations(legacy);
+        // teams.red has no world, so it cannot be stored
+        assertEquals(List.of("location", "teams.blue"), List.copyOf(found.keySet()));
+        final LocationStore store = open();
+        found.forEach(store::set);
+        store.save().join();
+        store.close().join();
+        final Map<String, byte[]> loaded = open().getAll().join();
+        assertEquals(new Location(world, 1.5, 64, -3.25, 90, 10), LocationCodec.decode(loaded.get("location")));
+        assertEquals(new Location(world, -10, 70, 20, 180, 0), LocationCodec.decode(loaded.get("teams.blue")));
+    }
+}
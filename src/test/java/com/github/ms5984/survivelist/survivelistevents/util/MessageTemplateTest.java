@@ -0,0 +1,135 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Matt (ms5984) <https://github.com/ms5984>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.ms5984.survivelist.survivelistevents.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class MessageTemplateTest {
+    /**
+     * The replace loop used before templates.
+     */
+    static String replaceLoop(String text, Object... replacements) {
+        for (int i = 0; i < replacements.length; i++) {
+            text = text.replace("{" + i + "}", String.valueOf(replacements[i]));
+        }
+        return text;
+    }
+
+    private static void assertLiteral(String text) {
+        final MessageTemplate template = MessageTemplate.compile(text);
+        assertEquals(0, template.getPlaceholderCount(), text);
+        assertSame(text, template.render("a", "b"));
+    }
+
+    @Test
+    void loneBraces() {
+        assertLiteral("{");
+        assertLiteral("}");
+        assertLiteral("a { b");
+        assertLiteral("ends with {");
+        assertLiteral("{}");
+        assertLiteral("{{");
+    }
+
+    @Test
+    void nonNumericPlaceholders() {
+        assertLiteral("{x}");
+        assertLiteral("{0x}");
+        assertLiteral("{-1}");
+        assertLiteral("{ 0}");
+    }
+
+    @Test
+    void indexLimits() {
+        assertLiteral("{1234}");
+        assertLiteral("{01}");
+        assertLiteral("{000}");
+        final MessageTemplate template = MessageTemplate.compile("{999}");
+        assertEquals(1, template.getPlaceholderCount());
+        final Object[] replacements = new Object[1000];
+        replacements[999] = "last";
+        assertEquals("last", template.render(replacements));
+    }
+
+    @Test
+    void unclosedPlaceholder() {
+        assertLiteral("{0");
+        assertLiteral("text {12");
+        assertEquals("a {0 b", MessageTemplate.compile("{0} {0 {1}").render("a", "b"));
+    }
+
+    @Test
+    void placeholderAtEdges() {
+        assertEquals("Bob", MessageTemplate.compile("{0}").render("Bob"));
+        assertEquals("Bob joined", MessageTemplate.compile("{0} joined").render("Bob"));
+        assertEquals("Welcome Bob", MessageTemplate.compile("Welcome {0}").render("Bob"));
+        assertEquals("{Bob}", MessageTemplate.compile("{{0}}").render("Bob"));
+    }
+
+    @Test
+    void repeatedAndReordered() {
+        final MessageTemplate template = MessageTemplate.compile("{1}-{0}-{1}");
+        assertEquals(3, template.getPlaceholderCount());
+        assertEquals("b-a-b", template.render("a", "b"));
+    }
+
+    @Test
+    void missingArguments() {
+        final MessageTemplate template = MessageTemplate.compile("{0} and {1} of {2}");
+        assertEquals("{0} and {1} of {2}", template.render());
+        assertEquals("a and {1} of {2}", template.render("a"));
+        assertEquals("a and null of {2}", template.render("a", null));
+    }
+
+    @Test
+    void rendersNonStringArguments() {
+        assertEquals("1/2.5 true", MessageTemplate.compile("{0}/{1} {2}").render(1, 2.5, true));
+    }
+
+    @Test
+    void matchesReplaceLoop() {
+        final Random random = new Random(5984);
+        final String alphabet = "{}0123x &";
+        final StringBuilder text = new StringBuilder();
+        for (int run = 0; run < 100_000; run++) {
+            text.setLength(0);
+            final int length = random.nextInt(16);
+            for (int i = 0; i < length; i++) {
+                text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            // replacements without braces, so the loop cannot create new placeholders
+            final Object[] replacements = new Object[random.nextInt(5)];
+            for (int i = 0; i < replacements.length; i++) {
+                replacements[i] = "r" + i;
+            }
+            final String source = text.toString();
+            assertEquals(replaceLoop(source, replacements), MessageTemplate.compile(source).render(replacements), source);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Matt (ms5984) <https://github.com/ms5984>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.ms5984.survivelist.survivelistevents.util;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.World;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Minimal stand-in server which resolves worlds for tests.
+ * <p>
+ * Worlds are proxies holding only a name and UUID; they can be
+ * unloaded to simulate worlds which load after this plugin.
+ */
+final class TestWorlds {
+    private static final Map<UUID, World> WORLDS = new ConcurrentHashMap<>();
+
+    static {
+        Bukkit.setServer(proxy(Server.class, (proxy, method, args) -> switch (method.getName()) {
+            case "getWorld" -> args[0] instanceof UUID uid ? WORLDS.get(uid) : WORLDS.values().stream()
+                    .filter(world -> world.getName().equals(args[0]))
+                    .findFirst()
+                    .orElse(null);
+            case "getLogger" -> Logger.getLogger("TestServer");
+            case "getName", "getVersion", "getBukkitVersion" -> "test";
+            default -> defaultValue(proxy, method.getName(), method.getReturnType(), args);
+        }));
+    }
+
+    private TestWorlds() {
+    }
+
+    /**
+     * Get a loaded world, creating it if needed.
+     *
+     * @param name name of the world
+     * @return the loaded world with this name
+     */
+    static synchronized World load(String name) {
+        final World loaded = Bukkit.getWorld(name);
+        if (loaded != null) return loaded;
+        final UUID uid = UUID.randomUUID();
+        final World world = proxy(World.class, (proxy, method, args) -> switch (method.getName()) {
+            case "getName" -> name;
+            case "getUID" -> uid;
+            default -> defaultValue(proxy, method.getName(), method.getReturnType(), args);
+        });
+        WORLDS.put(uid, world);
+        return world;
+    }
+
+    /**
+     * Load a world again after {@link #unload(World)}.
+     *
+     * @param world a world
+     */
+    static void reload(World world) {
+        WORLDS.put(world.getUID(), world);
+    }
+
+    /**
+     * Unload a world so it no longer resolves.
+     *
+     * @param world a world
+     */
+    static void unload(World world) {
+        WORLDS.remove(world.getUID());
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(TestWorlds.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object defaultValue(Object proxy, String name, Class<?> returnType, Object[] args) {
+        switch (name) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "TestWorlds$Proxy@" + Integer.toHexString(System.identityHashCode(proxy));
+        }
+        if (returnType == boolean.class) return false;
+        if (returnType == int.class) return 0;
+        if (returnType == long.class) return 0L;
+        if (returnType == double.class) return 0D;
+        if (returnType == float.class) return 0F;
+        return null;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Matt (ms5984) <https://github.com/ms5984>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.ms5984.survivelist.survivelistevents.util;
+
+import net.md_5.bungee.api.ChatColor;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class TextLibraryTest {
+    private static final Pattern HEX_PATTERN = Pattern.compile("&(#(\\d|[A-F]|[a-f]){6})");
+
+    /**
+     * The regex implementation used before the single pass.
+     */
+    static String regexTranslate(String text) {
+        if (text == null) return "null";
+        if (HEX_PATTERN.matcher(text).find()) {
+            final Matcher matcher = HEX_PATTERN.matcher(text);
+            final StringBuffer sb = new StringBuffer();
+            while (matcher.find()) {
+                matcher.appendReplacement(sb, ChatColor.of(matcher.group(1)).toString());
+            }
+            matcher.appendTail(sb);
+            text = sb.toString();
+        }
+        return ChatColor.translateAlternateColorCodes('&', text);
+    }
+
+    @Test
+    void translatesCodes() {
+        assertEquals("§c§oHi", TextLibrary.translate("&c&OHi"));
+        assertEquals("§x§D§D§d§6§0§5Set", TextLibrary.translate("&#DDd605Set"));
+        assertEquals("&#DDD60 &z &", TextLibrary.translate("&#DDD60 &z &"));
+        assertEquals("null", TextLibrary.translate(null));
+    }
+
+    @Test
+    void returnsTextWithoutCodesUnchanged() {
+        final String text = "plain text";
+        assertSame(text, TextLibrary.translate(text));
+    }
+
+    @Test
+    void matchesRegexImplementation() {
+        final Random random = new Random(5984);
+        // single characters plus whole and broken hex colors
+        final String[] tokens = {"&", "&", "#", "0", "9", "a", "F", "g", "k", "R", "x", " ", "§",
+                "&#a1B2c3", "&#FFFFFF", "&#a1B2c", "&#a1B2cG", "#a1B2c3"};
+        final StringBuilder text = new StringBuilder();
+        for (int run = 0; run < 200_000; run++) {
+            text.setLength(0);
+            final int length = random.nextInt(12);
+            for (int i = 0; i < length; i++) {
+                text.append(tokens[random.nextInt(tokens.length)]);
+            }
+            final String source = text.toString();
+            assertEquals(regexTranslate(source), TextLibrary.translate(source), source);
+        }
+    }
+}